@@ -74,6 +74,7 @@ public class GameManager {
             CommandLineHelper.printBoard(this.gameBoard);
             currentColor = currentColor.getOppositeColor();
             currentPlayer = this.getOtherPlayer(currentPlayer);
+            this.startPondering(this.getOtherPlayer(currentPlayer));
 
             try {
                 Thread.sleep(500);
@@ -81,6 +82,26 @@ public class GameManager {
                 e.printStackTrace();
             }
         }
+        this.stopPondering(this.blackPlayer);
+        this.stopPondering(this.whitePlayer);
         this.displayWinner(currentColor.getOppositeColor());
     }
+
+    /**
+     * Lets a computer player that has just moved search on while its opponent thinks. Two
+     * computers do not ponder, since each would slow the other's search down.
+     */
+    private void startPondering(Player playerThatMoved) {
+        if (playerThatMoved instanceof ComputerPlayer
+                && !(this.getOtherPlayer(playerThatMoved) instanceof ComputerPlayer)
+                && !this.gameBoard.isEndState(playerThatMoved.getColor().getOppositeColor())) {
+            ((ComputerPlayer) playerThatMoved).startPondering(this.gameBoard);
+        }
+    }
+
+    private void stopPondering(Player player) {
+        if (player instanceof ComputerPlayer) {
+            ((ComputerPlayer) player).stopPondering();
+        }
+    }
 }
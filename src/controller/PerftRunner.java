@@ -0,0 +1,82 @@
+package controller;
+
+import java.util.Map;
+
+import model.Board;
+import model.BoardNotation;
+import model.MoveEncoding;
+import model.perft.Perft;
+import model.perft.PerftHashTable;
+
+/**
+ * Command line perft. Usage:
+ *
+ * <pre>
+ * PerftRunner depth [-fen position] [-divide] [-hash megabytes] [-parallel]
+ * </pre>
+ *
+ * The position is given in {@link BoardNotation} and defaults to the starting position.
+ */
+public class PerftRunner {
+    private static final String USAGE = "Usage: PerftRunner depth [-fen position] [-divide]"
+            + " [-hash megabytes] [-parallel]";
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            exitWithUsage();
+        }
+
+        int depth = 0;
+        String position = BoardNotation.STARTING_POSITION;
+        boolean divide = false;
+        int hashMegabytes = 0;
+        boolean parallel = false;
+        try {
+            depth = Integer.parseInt(args[0]);
+            for (int i = 1; i < args.length; i++) {
+                if (args[i].equals("-fen") && i + 1 < args.length) {
+                    position = args[++i];
+                } else if (args[i].equals("-divide")) {
+                    divide = true;
+                } else if (args[i].equals("-hash") && i + 1 < args.length) {
+                    hashMegabytes = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("-parallel")) {
+                    parallel = true;
+                } else {
+                    exitWithUsage();
+                }
+            }
+        } catch (final NumberFormatException e) {
+            exitWithUsage();
+        }
+        if (depth < 1) {
+            exitWithUsage();
+        }
+
+        final Board board = BoardNotation.parse(position);
+        final Perft perft = new Perft(hashMegabytes > 0 ? new PerftHashTable(hashMegabytes)
+                : null, parallel);
+
+        final long startTime = System.nanoTime();
+        final Map<Long, Long> counts = perft.divide(board, depth);
+        final long elapsedTime = System.nanoTime() - startTime;
+
+        long nodes = 0;
+        for (final Map.Entry<Long, Long> count : counts.entrySet()) {
+            if (divide) {
+                System.out.println(MoveEncoding.toString(count.getKey()) + ": " + count.getValue());
+            }
+            nodes += count.getValue();
+        }
+        System.out.println("Position: " + BoardNotation.format(board));
+        System.out.println("Depth: " + depth);
+        System.out.println("Nodes: " + nodes);
+        System.out.println("Time: " + elapsedTime / 1000000 + " ms");
+        System.out.println("Nodes/sec: " + (long) (nodes / Math.max(elapsedTime / 1e9, 1e-9)));
+    }
+
+    private static void exitWithUsage() {
+        System.err.println(USAGE);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,80 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import model.PieceColor;
+import model.positions.MaterialSignature;
+import model.positions.PositionFile;
+
+/**
+ * Writes a file of random reachable positions for benchmarks and tuning. Usage:
+ *
+ * <pre>
+ * PositionFileRunner file count [-seed n] [-workers n] [-plies min max] [-side B|W]
+ *         [-material blackMen blackKings whiteMen whiteKings]
+ * </pre>
+ *
+ * A material count of -1 matches any number of pieces.
+ */
+public class PositionFileRunner {
+    private static final String USAGE = "Usage: PositionFileRunner file count [-seed n]"
+            + " [-workers n] [-plies min max] [-side B|W]"
+            + " [-material blackMen blackKings whiteMen whiteKings]";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            exitWithUsage();
+        }
+
+        Path path = null;
+        int numberOfPositions = 0;
+        long seed = System.nanoTime();
+        int workers = Runtime.getRuntime().availableProcessors();
+        int minPlies = 0;
+        int maxPlies = 100;
+        PieceColor sideToMove = null;
+        MaterialSignature material = null;
+        try {
+            path = Paths.get(args[0]);
+            numberOfPositions = Integer.parseInt(args[1]);
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("-seed") && i + 1 < args.length) {
+                    seed = Long.parseLong(args[++i]);
+                } else if (args[i].equals("-workers") && i + 1 < args.length) {
+                    workers = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("-plies") && i + 2 < args.length) {
+                    minPlies = Integer.parseInt(args[++i]);
+                    maxPlies = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("-side") && i + 1 < args.length) {
+                    sideToMove = args[++i].equals("W") ? PieceColor.WHITE : PieceColor.BLACK;
+                } else if (args[i].equals("-material") && i + 4 < args.length) {
+                    material = new MaterialSignature(Integer.parseInt(args[++i]),
+                            Integer.parseInt(args[++i]), Integer.parseInt(args[++i]),
+                            Integer.parseInt(args[++i]));
+                } else {
+                    exitWithUsage();
+                }
+            }
+        } catch (final IllegalArgumentException e) {
+            exitWithUsage();
+        }
+        if (numberOfPositions < 1 || workers < 1) {
+            exitWithUsage();
+        }
+
+        System.out.println("Writing " + numberOfPositions + " positions to " + path + " with seed "
+                + seed + " on " + workers + " workers");
+        final long startTime = System.nanoTime();
+        PositionFile.write(path, numberOfPositions, workers, seed, minPlies, maxPlies, sideToMove,
+                material);
+        final double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.out.println("Positions/sec: " + (long) (numberOfPositions / seconds));
+    }
+
+    private static void exitWithUsage() {
+        System.err.println(USAGE);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,112 @@
+package controller;
+
+import model.Board;
+import model.MoveInterface;
+import model.PieceColor;
+import model.ai.evaluation.BoardEvaluatorAggregator;
+import model.ai.evaluation.BoardEvaluatorSummator;
+import model.ai.evaluation.KingCountEvaluator;
+import model.ai.evaluation.PawnCountEvaluator;
+import model.ai.search.AlphaBetaSearch;
+import model.ai.search.SearchOptions;
+import model.ai.search.TranspositionTable;
+import model.positions.RandomPositionGenerator;
+
+/**
+ * Fits the regression that ProbCut uses. Usage:
+ *
+ * <pre>
+ * ProbCutCalibrator games [seed] [depth]
+ * </pre>
+ *
+ * Each game starts after a few random moves and is played out by a shallow search. Every
+ * position of the game is searched full width to the depth and to
+ * {@link AlphaBetaSearch#PROBCUT_REDUCTION} plies less, and the deep scores are regressed on the
+ * shallow ones. The slope, intercept and standard deviation printed go into
+ * {@link SearchOptions}.
+ */
+public class ProbCutCalibrator {
+    private static final int MAX_PLIES = 100;
+    private static final int PLAYING_DEPTH = 4;
+    private static final String USAGE = "Usage: ProbCutCalibrator games [seed] [depth]";
+
+    public static void main(String[] args) {
+        int numberOfGames = 0;
+        long seed = System.nanoTime();
+        int depth = 8;
+        try {
+            numberOfGames = Integer.parseInt(args[0]);
+            if (args.length > 1) {
+                seed = Long.parseLong(args[1]);
+            }
+            if (args.length > 2) {
+                depth = Integer.parseInt(args[2]);
+            }
+        } catch (final RuntimeException e) {
+            exitWithUsage();
+        }
+        if (numberOfGames < 1 || depth <= AlphaBetaSearch.PROBCUT_REDUCTION) {
+            exitWithUsage();
+        }
+
+        final BoardEvaluatorAggregator evaluator = new BoardEvaluatorSummator();
+        evaluator.addBoardEvaluator(new PawnCountEvaluator());
+        evaluator.addBoardEvaluator(new KingCountEvaluator());
+        final TranspositionTable table = new TranspositionTable(AlphaBetaSearch
+                .DEFAULT_TABLE_SIZE_MB);
+        final RandomPositionGenerator openings = new RandomPositionGenerator(seed, 4, 10, null,
+                null);
+
+        long n = 0;
+        double sumShallow = 0;
+        double sumDeep = 0;
+        double sumShallowSquared = 0;
+        double sumProducts = 0;
+        double sumDeepSquared = 0;
+        for (int game = 0; game < numberOfGames; game++) {
+            final Board board = openings.next();
+            PieceColor color = board.getSideToMove();
+            for (int ply = 0; ply < MAX_PLIES && !board.isEndState(color); ply++) {
+                table.clear();
+                final int shallow = new AlphaBetaSearch(board, color, evaluator,
+                        depth - AlphaBetaSearch.PROBCUT_REDUCTION, table,
+                        SearchOptions.fullWidth()).search().getScore();
+                table.clear();
+                final int deep = new AlphaBetaSearch(board, color, evaluator, depth, table,
+                        SearchOptions.fullWidth()).search().getScore();
+                n++;
+                sumShallow += shallow;
+                sumDeep += deep;
+                sumShallowSquared += (double) shallow * shallow;
+                sumProducts += (double) shallow * deep;
+                sumDeepSquared += (double) deep * deep;
+
+                final MoveInterface move = new AlphaBetaSearch(board, color, evaluator,
+                        PLAYING_DEPTH, table).alphaBetaSearch();
+                board.movePiece(move);
+                color = color.getOppositeColor();
+            }
+        }
+
+        final double slope = (n * sumProducts - sumShallow * sumDeep)
+                / (n * sumShallowSquared - sumShallow * sumShallow);
+        final double intercept = (sumDeep - slope * sumShallow) / n;
+        // Residual sum of squares, expanded so that no pair has to be kept
+        final double residuals = sumDeepSquared - 2 * slope * sumProducts - 2 * intercept
+                * sumDeep + slope * slope * sumShallowSquared + 2 * slope * intercept
+                * sumShallow + n * intercept * intercept;
+        final double deviation = Math.sqrt(Math.max(0, residuals) / Math.max(1, n - 2));
+
+        System.out.println("Positions: " + n);
+        System.out.println("Depths: " + (depth - AlphaBetaSearch.PROBCUT_REDUCTION) + " and "
+                + depth);
+        System.out.println(String.format("Slope: %.3f", slope));
+        System.out.println(String.format("Intercept: %.1f", intercept));
+        System.out.println(String.format("Deviation: %.1f", deviation));
+    }
+
+    private static void exitWithUsage() {
+        System.err.println(USAGE);
+        System.exit(1);
+    }
+}
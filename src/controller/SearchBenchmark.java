@@ -0,0 +1,124 @@
+package controller;
+
+import model.Board;
+import model.PieceColor;
+import model.ai.evaluation.BoardEvaluatorAggregator;
+import model.ai.evaluation.BoardEvaluatorInterface;
+import model.ai.evaluation.BoardEvaluatorSummator;
+import model.ai.evaluation.KingCountEvaluator;
+import model.ai.evaluation.PawnCountEvaluator;
+import model.ai.search.AlphaBetaSearch;
+import model.ai.search.IterativeDeepeningSearch;
+import model.ai.search.ParallelMode;
+import model.ai.search.SearchDriver;
+import model.ai.search.SearchLimits;
+import model.ai.search.SearchOptions;
+import model.ai.search.TranspositionTable;
+import model.positions.RandomPositionGenerator;
+
+/**
+ * Searches a fixed suite of positions to a fixed depth with each {@link SearchDriver} and
+ * reports the nodes and time each needed, then does the same with 1, 2, 4, ... threads up to the
+ * given number in each {@link ParallelMode} and reports the speedup and node count of each over
+ * one thread. Usage:
+ *
+ * <pre>
+ * SearchBenchmark depth [positions] [seed] [threads]
+ * </pre>
+ *
+ * The suite is the given number of random reachable positions from the seed, so the same
+ * arguments always give the same suite. The threads default to the number of processors.
+ */
+public class SearchBenchmark {
+    private static final String USAGE = "Usage: SearchBenchmark depth [positions] [seed]"
+            + " [threads]";
+
+    public static void main(String[] args) {
+        int depth = 0;
+        int numberOfPositions = 50;
+        long seed = 1;
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        try {
+            depth = Integer.parseInt(args[0]);
+            if (args.length > 1) {
+                numberOfPositions = Integer.parseInt(args[1]);
+            }
+            if (args.length > 2) {
+                seed = Long.parseLong(args[2]);
+            }
+            if (args.length > 3) {
+                maxThreads = Integer.parseInt(args[3]);
+            }
+        } catch (final RuntimeException e) {
+            exitWithUsage();
+        }
+        if (depth < 1 || depth > SearchLimits.MAX_DEPTH || numberOfPositions < 1
+                || maxThreads < 1) {
+            exitWithUsage();
+        }
+
+        final BoardEvaluatorAggregator evaluator = new BoardEvaluatorSummator();
+        evaluator.addBoardEvaluator(new PawnCountEvaluator());
+        evaluator.addBoardEvaluator(new KingCountEvaluator());
+        final TranspositionTable table = new TranspositionTable(AlphaBetaSearch
+                .DEFAULT_TABLE_SIZE_MB);
+
+        for (final SearchDriver driver : SearchDriver.values()) {
+            final SearchOptions options = new SearchOptions();
+            options.setDriver(driver);
+            final long[] totals = runSuite(depth, numberOfPositions, seed, evaluator, table,
+                    options);
+            System.out.println(String.format("%s: %d nodes, %d re-searches, %d ms", driver,
+                    totals[0], totals[1], totals[2] / 1000000));
+        }
+
+        for (final ParallelMode mode : ParallelMode.values()) {
+            long[] singleThread = null;
+            for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads
+                    ? threads + 1 : Math.min(threads * 2, maxThreads)) {
+                final SearchOptions options = new SearchOptions();
+                options.setThreads(threads);
+                options.setParallelMode(mode);
+                final long[] totals = runSuite(depth, numberOfPositions, seed, evaluator, table,
+                        options);
+                if (singleThread == null) {
+                    singleThread = totals;
+                }
+                System.out.println(String.format(
+                        "%s, %d threads: %d nodes (%.2fx), %d ms, speedup %.2fx", mode, threads,
+                        totals[0], (double) totals[0] / singleThread[0], totals[2] / 1000000,
+                        (double) singleThread[2] / Math.max(totals[2], 1)));
+            }
+        }
+    }
+
+    /**
+     * Searches the suite with the options.
+     *
+     * @return the total nodes, re-searches and nanoseconds
+     */
+    private static long[] runSuite(int depth, int numberOfPositions, long seed,
+            BoardEvaluatorInterface evaluator, TranspositionTable table, SearchOptions options) {
+        final RandomPositionGenerator suite = new RandomPositionGenerator(seed, 8, 60, null, null);
+        final long[] totals = new long[3];
+        for (int i = 0; i < numberOfPositions; i++) {
+            final Board board = suite.next();
+            final PieceColor color = board.getSideToMove();
+            table.clear();
+
+            final IterativeDeepeningSearch search = new IterativeDeepeningSearch(board, color,
+                    evaluator, table, options);
+            final long startTime = System.nanoTime();
+            search.search(SearchLimits.depth(depth));
+            totals[2] += System.nanoTime() - startTime;
+            totals[0] += search.getNodes();
+            totals[1] += search.getResearches();
+        }
+        return totals;
+    }
+
+    private static void exitWithUsage() {
+        System.err.println(USAGE);
+        System.exit(1);
+    }
+}
@@ -5,47 +5,83 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * The state of a checkers board, packed into three 32-bit masks. Bit (position - 1) of a mask
+ * describes the square with that checkers number. Pieces handed out by this class are the shared,
+ * immutable {@link Piece} instances; squares are snapshots built on request, and changing them does
+ * not change the board.
+ *
+ * The board also tracks the side to move and a 64-bit Zobrist key for the position, which is
+ * updated incrementally whenever a piece is placed, removed, crowned or moved.
+ */
 public class Board {
-    private final List<Square> gameState;
-    private int numberOfBlackPieces;
-    private int numberOfWhitePieces;
+    private static final int BLACK_STARTING_PIECES = 0x00000FFF;
+    private static final int WHITE_STARTING_PIECES = 0xFFF00000;
+
+    private int blackPieces;
+    private int kings;
+    private PieceColor sideToMove;
+    private int whitePieces;
+    private long zobristKey;
 
     public Board() {
-        this.gameState = this.getStartingGameBoardState();
-        this.numberOfBlackPieces = 12;
-        this.numberOfWhitePieces = 12;
+        this.blackPieces = BLACK_STARTING_PIECES;
+        this.whitePieces = WHITE_STARTING_PIECES;
+        this.kings = 0;
+        this.sideToMove = PieceColor.BLACK;
+        this.zobristKey = this.computeZobristKey();
     }
 
     public Board(Board otherBoard) {
-        this.gameState = new ArrayList<Square>();
-        for (final Square square : otherBoard.getGameState()) {
-            this.gameState.add(new Square(square));
+        this.blackPieces = otherBoard.blackPieces;
+        this.whitePieces = otherBoard.whitePieces;
+        this.kings = otherBoard.kings;
+        this.sideToMove = otherBoard.sideToMove;
+        this.zobristKey = otherBoard.zobristKey;
+    }
+
+    /**
+     * Builds a position from masks as returned by {@link #getPieceMask(PieceColor)} and
+     * {@link #getKingMask()}.
+     *
+     * @throws IllegalArgumentException
+     *             if a square holds pieces of both colors, or a king mask bit has no piece
+     */
+    public Board(int blackPieces, int whitePieces, int kings, PieceColor sideToMove) {
+        if ((blackPieces & whitePieces) != 0 || (kings & ~(blackPieces | whitePieces)) != 0) {
+            throw new IllegalArgumentException("Inconsistent piece masks: " + blackPieces + ", "
+                    + whitePieces + ", " + kings);
         }
-        this.numberOfBlackPieces = otherBoard.getNumberOfBlackPieces();
-        this.numberOfWhitePieces = otherBoard.getNumberOfWhitePieces();
+        this.blackPieces = blackPieces;
+        this.whitePieces = whitePieces;
+        this.kings = kings;
+        this.sideToMove = sideToMove;
+        this.zobristKey = this.computeZobristKey();
     }
 
     public Board(List<Integer> blackPositions, List<Integer> whitePositions) {
-        this.numberOfBlackPieces = 0;
-        this.numberOfWhitePieces = 0;
-        this.gameState = new ArrayList<Square>(32);
-
+        this.sideToMove = PieceColor.BLACK;
+        this.zobristKey = this.computeZobristKey();
         for (int position = 1; position <= 32; position++) {
-            this.gameState.add(new Square(position, NullPiece.getInstance()));
             if (blackPositions.contains(position)) {
-                this.setOccupyingPiece(position, new Piece(PieceColor.BLACK));
+                this.setOccupyingPiece(position, Piece.getInstance(PieceColor.BLACK));
             } else if (whitePositions.contains(position)) {
-                this.setOccupyingPiece(position, new Piece(PieceColor.WHITE));
+                this.setOccupyingPiece(position, Piece.getInstance(PieceColor.WHITE));
             }
         }
     }
 
-    private void decrementPieceCount(int position) {
-        if (this.getPiece(position).isWhite()) {
-            this.numberOfWhitePieces--;
-        } else if (this.getPiece(position).isBlack()) {
-            this.numberOfBlackPieces--;
+    private long computeZobristKey() {
+        long key = ZobristKeys.getSideToMoveKey(this.sideToMove);
+        int remainingPieces = this.blackPieces | this.whitePieces;
+        while (remainingPieces != 0) {
+            final int mask = remainingPieces & -remainingPieces;
+            final int position = Integer.numberOfTrailingZeros(mask) + 1;
+            key ^= ZobristKeys.getPieceKey(position, (this.blackPieces & mask) != 0,
+                    (this.kings & mask) != 0);
+            remainingPieces &= remainingPieces - 1;
         }
+        return key;
     }
 
     @Override
@@ -60,41 +96,80 @@ public class Board {
             return false;
         }
         final Board other = (Board) obj;
-        if (this.gameState == null) {
-            if (other.gameState != null) {
-                return false;
-            }
-        } else if (!this.gameState.equals(other.gameState)) {
+        if (this.blackPieces != other.blackPieces) {
             return false;
         }
-        if (this.numberOfBlackPieces != other.numberOfBlackPieces) {
+        if (this.whitePieces != other.whitePieces) {
             return false;
         }
-        if (this.numberOfWhitePieces != other.numberOfWhitePieces) {
+        if (this.kings != other.kings) {
+            return false;
+        }
+        if (this.sideToMove != other.sideToMove) {
             return false;
         }
         return true;
     }
 
     public List<Square> getAdjacentSquares(Square square) {
-        final List<Integer> squareNumbers = square.getAdjacentPositions();
-        return this.getSquares((ArrayList<Integer>) squareNumbers);
+        final List<Square> adjacentSquares = new ArrayList<>(4);
+        for (final int position : square.getAdjacentPositions()) {
+            adjacentSquares.add(this.getSquare(position));
+        }
+        return adjacentSquares;
     }
 
+    /**
+     * Builds the 32 squares of the board, in checkers number order.
+     *
+     * @return a snapshot of every square on the board
+     */
     public List<Square> getGameState() {
-        return this.gameState;
+        final List<Square> gameState = new ArrayList<>(32);
+        for (int position = 1; position <= 32; position++) {
+            gameState.add(this.getSquare(position));
+        }
+        return gameState;
+    }
+
+    public int getKingMask() {
+        return this.kings;
     }
 
     public int getNumberOfBlackPieces() {
-        return this.numberOfBlackPieces;
+        return Integer.bitCount(this.blackPieces);
+    }
+
+    public int getNumberOfKings(PieceColor color) {
+        return Integer.bitCount(this.getPieceMask(color) & this.kings);
+    }
+
+    public int getNumberOfPieces(PieceColor color) {
+        return Integer.bitCount(this.getPieceMask(color));
     }
 
     public int getNumberOfWhitePieces() {
-        return this.numberOfWhitePieces;
+        return Integer.bitCount(this.whitePieces);
     }
 
     public PieceInterface getPiece(int position) {
-        return this.getSquare(position).getOccupyingPiece();
+        final int mask = BoardTopology.getMask(position);
+        final boolean isKing = (this.kings & mask) != 0;
+        if ((this.blackPieces & mask) != 0) {
+            return Piece.getInstance(PieceColor.BLACK, isKing);
+        } else if ((this.whitePieces & mask) != 0) {
+            return Piece.getInstance(PieceColor.WHITE, isKing);
+        } else {
+            return NullPiece.getInstance();
+        }
+    }
+
+    public int getPieceMask(PieceColor color) {
+        if (color == PieceColor.BLACK) {
+            return this.blackPieces;
+        } else {
+            return this.whitePieces;
+        }
     }
 
     public ArrayList<PieceInterface> getPieces(List<Integer> positions) {
@@ -106,8 +181,12 @@ public class Board {
         return pieces;
     }
 
+    public PieceColor getSideToMove() {
+        return this.sideToMove;
+    }
+
     public Square getSquare(int position) {
-        return this.gameState.get(position - 1);
+        return new Square(position, this.getPiece(position));
     }
 
     public ArrayList<Square> getSquares(ArrayList<Integer> positions) {
@@ -121,12 +200,11 @@ public class Board {
 
     public Set<Square> getSquaresForPlayer(PieceColor color) {
         final Set<Square> playersSquares = new HashSet<>();
-        for (final Square square : this.getGameState()) {
-            if (square.isOccupied()) {
-                if (square.getOccupyingPiece().getColor() == color) {
-                    playersSquares.add(square);
-                }
-            }
+        int remainingPieces = this.getPieceMask(color);
+        while (remainingPieces != 0) {
+            final int position = Integer.numberOfTrailingZeros(remainingPieces) + 1;
+            playersSquares.add(this.getSquare(position));
+            remainingPieces &= remainingPieces - 1;
         }
         return playersSquares;
     }
@@ -155,54 +233,36 @@ public class Board {
         return squaresPossiblyOneJumpAway;
     }
 
-    private List<Square> getStartingGameBoardState() {
-        final List<Square> startingGameBoard = new ArrayList<>(32);
-
-        for (int i = 1; i <= 32; i++) {
-            if (i <= 12) {
-                startingGameBoard.add(new Square(i, new Piece(PieceColor.BLACK)));
-            } else if ((i > 12) && (i < 21)) {
-                startingGameBoard.add(new Square(i, NullPiece.getInstance()));
-            } else {
-                startingGameBoard.add(new Square(i, new Piece(PieceColor.WHITE)));
-            }
-        }
-
-        return startingGameBoard;
+    /**
+     * Returns the Zobrist key of this position, including the side to move. Equal boards always
+     * have equal keys, so the key can be used directly by transposition tables, opening books and
+     * repetition checks.
+     *
+     * @return the 64-bit hash of this position
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
     }
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = (prime * result) + ((this.gameState == null) ? 0 : this.gameState.hashCode());
-        result = (prime * result) + this.numberOfBlackPieces;
-        result = (prime * result) + this.numberOfWhitePieces;
-        return result;
-    }
-
-    private void incrementPieceCount(int position) {
-        if (this.getPiece(position).isWhite()) {
-            this.numberOfWhitePieces++;
-        } else if (this.getPiece(position).isBlack()) {
-            this.numberOfBlackPieces++;
-        }
+        return (int) (this.zobristKey ^ (this.zobristKey >>> 32));
     }
 
     public boolean isEndState(PieceColor color) {
 
         boolean outOfPieces = false;
         if (color == PieceColor.BLACK) {
-            outOfPieces = this.numberOfBlackPieces == 0;
+            outOfPieces = this.blackPieces == 0;
         } else {
-            outOfPieces = this.numberOfWhitePieces == 0;
+            outOfPieces = this.whitePieces == 0;
         }
 
         if (outOfPieces) {
             return true;
         }
 
-        final boolean noAvailableMoves = MoveGenerator.getAllPossibleMoves(this, color).isEmpty();
+        final boolean noAvailableMoves = !MoveGenerator.hasAnyLegalMove(this, color);
         if (noAvailableMoves) {
             return true;
         } else {
@@ -210,6 +270,86 @@ public class Board {
         }
     }
 
+    /**
+     * Crowns the piece on the given square, if there is one.
+     *
+     * @param position
+     *            checkers number of the square holding the piece
+     */
+    public void kingPiece(int position) {
+        final int mask = BoardTopology.getMask(position);
+        if (((this.blackPieces | this.whitePieces) & mask) != 0 && (this.kings & mask) == 0) {
+            final boolean isBlack = (this.blackPieces & mask) != 0;
+            this.zobristKey ^= ZobristKeys.getPieceKey(position, isBlack, false)
+                    ^ ZobristKeys.getPieceKey(position, isBlack, true);
+            this.kings |= mask;
+        }
+    }
+
+    /**
+     * Applies a move and stores what is needed to take it back in the given record.
+     *
+     * @param move
+     *            the move to apply
+     * @param undo
+     *            record that receives the state of the board before the move
+     */
+    public void makeMove(MoveInterface move, UndoRecord undo) {
+        this.saveState(undo);
+        this.movePiece(move);
+    }
+
+    /**
+     * Applies an encoded move and stores what is needed to take it back in the given record.
+     *
+     * @param move
+     *            the move to apply, encoded by {@link MoveEncoding}
+     * @param undo
+     *            record that receives the state of the board before the move
+     */
+    public void makeMove(long move, UndoRecord undo) {
+        this.saveState(undo);
+        this.movePiece(move);
+    }
+
+    /**
+     * Applies an encoded move: moves the piece, removes the captured pieces, crowns a man that
+     * reaches its promotion row and passes the turn to the other side.
+     *
+     * @param move
+     *            the move to apply, encoded by {@link MoveEncoding}
+     */
+    public void movePiece(long move) {
+        final int startingPosition = MoveEncoding.getStartingPosition(move);
+        final int endingPosition = MoveEncoding.getEndingPosition(move);
+        final int startingMask = BoardTopology.getMask(startingPosition);
+        final int endingMask = BoardTopology.getMask(endingPosition);
+        final boolean isBlack = (this.blackPieces & startingMask) != 0;
+        final PieceColor color = isBlack ? PieceColor.BLACK : PieceColor.WHITE;
+        final boolean wasKing = (this.kings & startingMask) != 0;
+        final boolean isKing = wasKing
+                || (endingMask & BoardTopology.getPromotionRow(color)) != 0;
+
+        int capturedPieces = MoveEncoding.getCapturedMask(move);
+        while (capturedPieces != 0) {
+            this.removePiece(Integer.numberOfTrailingZeros(capturedPieces) + 1);
+            capturedPieces &= capturedPieces - 1;
+        }
+
+        this.zobristKey ^= ZobristKeys.getPieceKey(startingPosition, isBlack, wasKing)
+                ^ ZobristKeys.getPieceKey(endingPosition, isBlack, isKing);
+        this.kings &= ~startingMask;
+        if (isBlack) {
+            this.blackPieces = (this.blackPieces & ~startingMask) | endingMask;
+        } else {
+            this.whitePieces = (this.whitePieces & ~startingMask) | endingMask;
+        }
+        if (isKing) {
+            this.kings |= endingMask;
+        }
+        this.setSideToMove(this.sideToMove.getOppositeColor());
+    }
+
     public void movePiece(MoveInterface move) {
         final PieceInterface pieceToMove = this.pickUpPiece(move.getStartingPosition());
         if (move instanceof Jump) {
@@ -220,6 +360,7 @@ public class Board {
             }
         }
         this.setOccupyingPiece(move.getEndingPosition(), pieceToMove);
+        this.setSideToMove(this.sideToMove.getOppositeColor());
     }
 
     private PieceInterface pickUpPiece(int position) {
@@ -229,13 +370,70 @@ public class Board {
     }
 
     public void removePiece(int position) {
-        this.decrementPieceCount(position);
-        this.getSquare(position).removeOccupyingPiece();
+        final int mask = BoardTopology.getMask(position);
+        if (((this.blackPieces | this.whitePieces) & mask) != 0) {
+            this.zobristKey ^= ZobristKeys.getPieceKey(position, (this.blackPieces & mask) != 0,
+                    (this.kings & mask) != 0);
+        }
+        final int clearMask = ~mask;
+        this.blackPieces &= clearMask;
+        this.whitePieces &= clearMask;
+        this.kings &= clearMask;
+    }
+
+    private void saveState(UndoRecord undo) {
+        undo.blackPieces = this.blackPieces;
+        undo.whitePieces = this.whitePieces;
+        undo.kings = this.kings;
+        undo.sideToMove = this.sideToMove;
+        undo.zobristKey = this.zobristKey;
     }
 
     public void setOccupyingPiece(int position, PieceInterface pieceToSet) {
-        this.getSquare(position).setOccupyingPiece(pieceToSet);
-        this.incrementPieceCount(position);
+        final int mask = BoardTopology.getMask(position);
+        if (((this.blackPieces | this.whitePieces) & mask) != 0) {
+            System.err.println("Occupied square: " + position);
+            System.out.println("Board.setOccupyingPiece()");
+            System.exit(1);
+        } else if (pieceToSet.isBlack()) {
+            this.blackPieces |= mask;
+            final boolean isKing = pieceToSet.isKing()
+                    || (mask & BoardTopology.getPromotionRow(PieceColor.BLACK)) != 0;
+            if (isKing) {
+                this.kings |= mask;
+            }
+            this.zobristKey ^= ZobristKeys.getPieceKey(position, true, isKing);
+        } else if (pieceToSet.isWhite()) {
+            this.whitePieces |= mask;
+            final boolean isKing = pieceToSet.isKing()
+                    || (mask & BoardTopology.getPromotionRow(PieceColor.WHITE)) != 0;
+            if (isKing) {
+                this.kings |= mask;
+            }
+            this.zobristKey ^= ZobristKeys.getPieceKey(position, false, isKing);
+        }
+    }
+
+    public void setSideToMove(PieceColor sideToMove) {
+        this.zobristKey ^= ZobristKeys.getSideToMoveKey(this.sideToMove)
+                ^ ZobristKeys.getSideToMoveKey(sideToMove);
+        this.sideToMove = sideToMove;
+    }
+
+    /**
+     * Reverts the move recorded by the last call to
+     * {@link #makeMove(MoveInterface, UndoRecord)} that used this record. Captured pieces, kings
+     * and the side to move are restored exactly.
+     *
+     * @param undo
+     *            the record filled in when the move was made
+     */
+    public void unmakeMove(UndoRecord undo) {
+        this.blackPieces = undo.blackPieces;
+        this.whitePieces = undo.whitePieces;
+        this.kings = undo.kings;
+        this.sideToMove = undo.sideToMove;
+        this.zobristKey = undo.zobristKey;
     }
 
 }
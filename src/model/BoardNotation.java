@@ -0,0 +1,125 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes positions in the FEN notation used by PDN, e.g.
+ * {@code B:W18,24,27,28,K10,K15:B12,16,20,K22,K25,K29}: the side to move, then the white and the
+ * black pieces by checkers number, kings prefixed with {@code K}. Ranges such as {@code 1-12} are
+ * accepted when reading.
+ */
+public final class BoardNotation {
+    public static final String STARTING_POSITION = "B:W21-32:B1-12";
+
+    private static void appendPieces(StringBuilder notation, Board board, PieceColor color) {
+        notation.append(':').append(toLetter(color));
+        final int pieces = board.getPieceMask(color);
+        String separator = "";
+        for (int position = 1; position <= 32; position++) {
+            final int mask = BoardTopology.getMask(position);
+            if ((pieces & mask) != 0) {
+                notation.append(separator);
+                if ((board.getKingMask() & mask) != 0) {
+                    notation.append('K');
+                }
+                notation.append(position);
+                separator = ",";
+            }
+        }
+    }
+
+    public static String format(Board board) {
+        final StringBuilder notation = new StringBuilder();
+        notation.append(toLetter(board.getSideToMove()));
+        appendPieces(notation, board, PieceColor.WHITE);
+        appendPieces(notation, board, PieceColor.BLACK);
+        return notation.toString();
+    }
+
+    /**
+     * Builds the board for a position.
+     *
+     * @throws IllegalArgumentException
+     *             if the notation cannot be read or puts two pieces on one square
+     */
+    public static Board parse(String notation) {
+        final String[] fields = notation.trim().split(":");
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Expected three fields in position " + notation);
+        }
+
+        final List<Integer> blackPositions = new ArrayList<>();
+        final List<Integer> whitePositions = new ArrayList<>();
+        final List<Integer> kingPositions = new ArrayList<>();
+        for (int field = 1; field < fields.length; field++) {
+            final List<Integer> positions = toColor(fields[field], notation) == PieceColor.BLACK
+                    ? blackPositions : whitePositions;
+            parsePieces(fields[field].trim().substring(1), positions, kingPositions, notation);
+        }
+        for (final int position : blackPositions) {
+            if (whitePositions.contains(position)) {
+                throw new IllegalArgumentException(
+                        "Square " + position + " is taken twice in position " + notation);
+            }
+        }
+
+        final Board board = new Board(blackPositions, whitePositions);
+        for (final int position : kingPositions) {
+            board.kingPiece(position);
+        }
+        board.setSideToMove(toColor(fields[0], notation));
+        return board;
+    }
+
+    private static void parsePieces(String pieces, List<Integer> positions,
+            List<Integer> kingPositions, String notation) {
+        for (String piece : pieces.split(",")) {
+            piece = piece.trim();
+            if (piece.isEmpty()) {
+                continue;
+            }
+            final boolean isKing = piece.startsWith("K");
+            final String squares = isKing ? piece.substring(1) : piece;
+            final int dash = squares.indexOf('-');
+            final int first = parseSquare(dash < 0 ? squares : squares.substring(0, dash),
+                    notation);
+            final int last = dash < 0 ? first : parseSquare(squares.substring(dash + 1), notation);
+            for (int position = first; position <= last; position++) {
+                positions.add(position);
+                if (isKing) {
+                    kingPositions.add(position);
+                }
+            }
+        }
+    }
+
+    private static int parseSquare(String square, String notation) {
+        try {
+            final int position = Integer.parseInt(square.trim());
+            if (position >= 1 && position <= 32) {
+                return position;
+            }
+        } catch (final NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Bad square " + square + " in position " + notation);
+    }
+
+    private static PieceColor toColor(String field, String notation) {
+        final String letter = field.trim();
+        if (letter.startsWith("B")) {
+            return PieceColor.BLACK;
+        } else if (letter.startsWith("W")) {
+            return PieceColor.WHITE;
+        }
+        throw new IllegalArgumentException("Expected B or W in position " + notation);
+    }
+
+    private static char toLetter(PieceColor color) {
+        return color == PieceColor.BLACK ? 'B' : 'W';
+    }
+
+    private BoardNotation() {
+    }
+}
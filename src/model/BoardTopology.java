@@ -0,0 +1,168 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Geometry of the 32 playable squares, worked out once per JVM. Everything is indexed by checkers
+ * number (1-32); {@link #NO_SQUARE} marks a step or jump that would leave the board.
+ *
+ * Rows are numbered 1-8 from black's back row, columns 1-8 from the left of the board as printed
+ * by the command line view. Black men move down the board (towards higher numbers), white men
+ * move up.
+ */
+public final class BoardTopology {
+    public static final int NO_SQUARE = 0;
+
+    public static final int DOWN_LEFT = 0;
+    public static final int DOWN_RIGHT = 1;
+    public static final int UP_LEFT = 2;
+    public static final int UP_RIGHT = 3;
+    public static final int NUMBER_OF_DIRECTIONS = 4;
+
+    /** Squares 1-4, where black starts and white men are crowned. */
+    public static final int BLACK_BACK_ROW = 0x0000000F;
+    /** Squares 29-32, where white starts and black men are crowned. */
+    public static final int WHITE_BACK_ROW = 0xF0000000;
+    public static final int LEFT_TWO_COLUMNS = 0x11111111;
+    public static final int RIGHT_TWO_COLUMNS = 0x88888888;
+
+    /** Rows 1, 3, 5 and 7, whose squares sit in the even columns. */
+    private static final int ODD_ROWS = 0x0F0F0F0F;
+    private static final int EVEN_ROWS = 0xF0F0F0F0;
+
+    private static final int[] ADJACENT_MASKS = new int[33];
+    private static final List<List<Integer>> ADJACENT_POSITIONS = new ArrayList<>(33);
+    private static final int[] COLUMNS = new int[33];
+    private static final int[] JUMP_LANDINGS = new int[33 * NUMBER_OF_DIRECTIONS];
+    private static final int[] JUMP_OVERS = new int[33 * NUMBER_OF_DIRECTIONS];
+    private static final int[] NEIGHBOURS = new int[33 * NUMBER_OF_DIRECTIONS];
+    private static final int[] ROWS = new int[33];
+
+    private static final int[] ROW_STEPS = { 1, 1, -1, -1 };
+    private static final int[] COLUMN_STEPS = { -1, 1, -1, 1 };
+
+    static {
+        ADJACENT_POSITIONS.add(Collections.<Integer> emptyList());
+        for (int position = 1; position <= 32; position++) {
+            final int row = (position - 1) / 4 + 1;
+            final int columnPair = (position - 1) % 4;
+            ROWS[position] = row;
+            COLUMNS[position] = row % 2 == 1 ? 2 * columnPair + 2 : 2 * columnPair + 1;
+        }
+        for (int position = 1; position <= 32; position++) {
+            final List<Integer> adjacentPositions = new ArrayList<>(4);
+            for (int direction = 0; direction < NUMBER_OF_DIRECTIONS; direction++) {
+                final int row = ROWS[position];
+                final int column = COLUMNS[position];
+                final int neighbour = getPosition(row + ROW_STEPS[direction],
+                        column + COLUMN_STEPS[direction]);
+                final int landing = getPosition(row + 2 * ROW_STEPS[direction],
+                        column + 2 * COLUMN_STEPS[direction]);
+
+                NEIGHBOURS[position * NUMBER_OF_DIRECTIONS + direction] = neighbour;
+                if (neighbour != NO_SQUARE) {
+                    ADJACENT_MASKS[position] |= getMask(neighbour);
+                    adjacentPositions.add(neighbour);
+                }
+                if (landing != NO_SQUARE) {
+                    JUMP_OVERS[position * NUMBER_OF_DIRECTIONS + direction] = neighbour;
+                    JUMP_LANDINGS[position * NUMBER_OF_DIRECTIONS + direction] = landing;
+                }
+            }
+            ADJACENT_POSITIONS.add(Collections.unmodifiableList(adjacentPositions));
+        }
+    }
+
+    public static int getAdjacentMask(int position) {
+        return ADJACENT_MASKS[position];
+    }
+
+    public static List<Integer> getAdjacentPositions(int position) {
+        return ADJACENT_POSITIONS.get(position);
+    }
+
+    public static int getColumn(int position) {
+        return COLUMNS[position];
+    }
+
+    /**
+     * Returns the square jumped over when jumping from one square to another, or
+     * {@link #NO_SQUARE} if the two squares are not one jump apart.
+     */
+    public static int getJumpedPosition(int startingPosition, int endingPosition) {
+        for (int direction = 0; direction < NUMBER_OF_DIRECTIONS; direction++) {
+            if (getJumpLanding(startingPosition, direction) == endingPosition) {
+                return getJumpOver(startingPosition, direction);
+            }
+        }
+        return NO_SQUARE;
+    }
+
+    public static int getJumpLanding(int position, int direction) {
+        return JUMP_LANDINGS[position * NUMBER_OF_DIRECTIONS + direction];
+    }
+
+    public static int getJumpOver(int position, int direction) {
+        return JUMP_OVERS[position * NUMBER_OF_DIRECTIONS + direction];
+    }
+
+    public static int getMask(int position) {
+        return 1 << (position - 1);
+    }
+
+    public static int getNeighbour(int position, int direction) {
+        return NEIGHBOURS[position * NUMBER_OF_DIRECTIONS + direction];
+    }
+
+    /**
+     * Returns the checkers number of the playable square at a row and column, or
+     * {@link #NO_SQUARE} if there is none.
+     */
+    public static int getPosition(int row, int column) {
+        if (row < 1 || row > 8 || column < 1 || column > 8 || (row + column) % 2 == 0) {
+            return NO_SQUARE;
+        }
+        return (row - 1) * 4 + (column - 1) / 2 + 1;
+    }
+
+    /**
+     * Returns the squares on which men of the given color are crowned.
+     */
+    public static int getPromotionRow(PieceColor color) {
+        return color == PieceColor.BLACK ? WHITE_BACK_ROW : BLACK_BACK_ROW;
+    }
+
+    public static int getRow(int position) {
+        return ROWS[position];
+    }
+
+    public static boolean isForwardDirection(PieceColor color, int direction) {
+        if (color == PieceColor.BLACK) {
+            return direction == DOWN_LEFT || direction == DOWN_RIGHT;
+        } else {
+            return direction == UP_LEFT || direction == UP_RIGHT;
+        }
+    }
+
+    /**
+     * Moves every square of a mask one step in a direction, dropping the squares whose step
+     * would leave the board. Two shifts in the same direction give the landing squares of jumps.
+     */
+    public static int shiftMask(int mask, int direction) {
+        switch (direction) {
+        case DOWN_LEFT:
+            return ((mask & ODD_ROWS) << 4) | ((mask & EVEN_ROWS & ~LEFT_TWO_COLUMNS) << 3);
+        case DOWN_RIGHT:
+            return ((mask & ODD_ROWS & ~RIGHT_TWO_COLUMNS) << 5) | ((mask & EVEN_ROWS) << 4);
+        case UP_LEFT:
+            return ((mask & ODD_ROWS) >>> 4) | ((mask & EVEN_ROWS & ~LEFT_TWO_COLUMNS) >>> 5);
+        default:
+            return ((mask & ODD_ROWS & ~RIGHT_TWO_COLUMNS) >>> 3) | ((mask & EVEN_ROWS) >>> 4);
+        }
+    }
+
+    private BoardTopology() {
+    }
+}
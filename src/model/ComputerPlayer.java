@@ -5,12 +5,119 @@ import model.ai.evaluation.BoardEvaluatorSummator;
 import model.ai.evaluation.KingCountEvaluator;
 import model.ai.evaluation.PawnCountEvaluator;
 import model.ai.search.AlphaBetaSearch;
+import model.ai.search.Engine;
+import model.ai.search.IterativeDeepeningSearch;
+import model.ai.search.SearchLimits;
+import model.ai.search.SearchOptions;
+import model.ai.search.SearchResult;
 
+/**
+ * Plays the best move an {@link IterativeDeepeningSearch} finds within the limits. The searches
+ * run in an {@link Engine}, which keeps its tables and threads from move to move, and can last for
+ * several games. Players can share an engine only if they take turns: an engine runs one search
+ * at a time, so two players that share one must not search, or ponder, at the same time.
+ *
+ * While the opponent thinks, the player can ponder: {@link #startPondering(Board)} searches, in
+ * the background, the position after the reply its last search predicted. If the opponent plays
+ * that reply, {@link #makeMove(Board)} carries on with the pondering search. The move's time
+ * budget counts from when the pondering started, so the opponent's thinking time is part of it
+ * rather than added to it: the search only goes on for whatever is left of the budget, and moves
+ * at once if the opponent took longer than that. If the opponent plays another reply, the
+ * pondering search is stopped and a new search starts, with the table the pondering search
+ * filled.
+ *
+ * Each move is printed on a line of its own; {@link #setVerbose(boolean)} adds the statistics of
+ * the search that found it.
+ */
 public class ComputerPlayer implements Player {
+    public static final long DEFAULT_MOVE_TIME_MILLIS = 1000;
+
+    private static BoardEvaluatorAggregator createEvaluator() {
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+        boardAgg.addBoardEvaluator(new KingCountEvaluator());
+        return boardAgg;
+    }
+
     private final PieceColor color;
+    private final Engine engine;
+    private SearchResult lastResult;
+    private final SearchLimits limits;
+    private Board ponderBoard;
+    private int ponderHits;
+    private int ponderMisses;
+    private IterativeDeepeningSearch ponderSearch;
+    private long ponderStartTime;
+    private Thread ponderThread;
+    private boolean verbose;
 
     public ComputerPlayer(PieceColor color) {
+        this(color, AlphaBetaSearch.DEFAULT_TABLE_SIZE_MB);
+    }
+
+    /**
+     * @param tableSizeMegabytes
+     *            size of the transposition table of the player's own engine
+     */
+    public ComputerPlayer(PieceColor color, int tableSizeMegabytes) {
+        this(color, tableSizeMegabytes, SearchLimits.time(DEFAULT_MOVE_TIME_MILLIS));
+    }
+
+    /**
+     * @param tableSizeMegabytes
+     *            size of the transposition table of the player's own engine
+     * @param limits
+     *            budget for each move
+     */
+    public ComputerPlayer(PieceColor color, int tableSizeMegabytes, SearchLimits limits) {
+        this(color, tableSizeMegabytes, limits, new SearchOptions());
+    }
+
+    /**
+     * @param tableSizeMegabytes
+     *            size of the transposition table of the player's own engine
+     * @param limits
+     *            budget for each move
+     * @param options
+     *            search driver and selective search switches
+     */
+    public ComputerPlayer(PieceColor color, int tableSizeMegabytes, SearchLimits limits,
+            SearchOptions options) {
+        this(color, new Engine(createEvaluator(), tableSizeMegabytes, options), limits);
+    }
+
+    /**
+     * @param engine
+     *            session the searches run in
+     * @param limits
+     *            budget for each move
+     */
+    public ComputerPlayer(PieceColor color, Engine engine, SearchLimits limits) {
         this.color = color;
+        this.engine = engine;
+        this.limits = limits;
+    }
+
+    /**
+     * Waits for the pondering search to use up the move's time budget, counted from when it
+     * started, and then stops it.
+     */
+    private void finishPondering() {
+        final long timeLimit = this.limits.getTimeLimitMillis();
+        try {
+            if (timeLimit == SearchLimits.UNLIMITED) {
+                this.ponderThread.join();
+            } else {
+                final long remainingMillis = timeLimit - (System.nanoTime()
+                        - this.ponderStartTime) / 1000000;
+                if (remainingMillis > 0) {
+                    this.ponderThread.join(remainingMillis);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.stopPondering();
     }
 
     @Override
@@ -18,22 +125,152 @@ public class ComputerPlayer implements Player {
         return this.color;
     }
 
-    @Override
-    public void makeMove(Board currentBoard) {
+    public Engine getEngine() {
+        return this.engine;
+    }
 
-        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
-        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
-        boardAgg.addBoardEvaluator(new KingCountEvaluator());
+    /**
+     * Returns the result of the search for the last move, or {@code null} before the first.
+     */
+    public SearchResult getLastResult() {
+        return this.lastResult;
+    }
+
+    /**
+     * Returns how many times the opponent played the reply that was pondered on.
+     */
+    public int getPonderHits() {
+        return this.ponderHits;
+    }
 
-        final MoveInterface moveToMake = new AlphaBetaSearch(currentBoard, this.getColor(),
-                boardAgg, 8).alphaBetaSearch();
+    /**
+     * Returns how many times the opponent played a reply other than the one pondered on.
+     */
+    public int getPonderMisses() {
+        return this.ponderMisses;
+    }
+
+    public boolean isPondering() {
+        return this.ponderThread != null;
+    }
+
+    @Override
+    public void makeMove(Board currentBoard) {
+        IterativeDeepeningSearch search;
+        if (this.isPondering() && currentBoard.equals(this.ponderBoard)) {
+            this.ponderHits++;
+            search = this.ponderSearch;
+            this.finishPondering();
+        } else {
+            if (this.isPondering()) {
+                this.ponderMisses++;
+                this.stopPondering();
+            }
+            search = this.engine.createSearch(currentBoard, this.getColor());
+            search.search(this.limits);
+        }
+        this.lastResult = search.getResult();
 
+        // The pondering search played on its own copy of the board
+        final MoveInterface moveToMake = MoveEncoding.toMoveInterface(this.lastResult.getMove(),
+                currentBoard);
         currentBoard.movePiece(moveToMake);
-        this.printMove(moveToMake);
+        this.printMove(moveToMake, search);
+    }
+
+    /**
+     * Prepares for a game unrelated to the last: stops pondering and clears the engine's tables.
+     */
+    public void newGame() {
+        this.stopPondering();
+        this.lastResult = null;
+        this.engine.newGame();
     }
 
-    private void printMove(MoveInterface moveToMake) {
+    private void printMove(MoveInterface moveToMake, IterativeDeepeningSearch search) {
         System.out.println(this.color.toString() + ": " + moveToMake);
+        if (!this.verbose) {
+            return;
+        }
+        if (this.ponderHits + this.ponderMisses > 0) {
+            System.out.println("Ponder hits: " + this.ponderHits + " of "
+                    + (this.ponderHits + this.ponderMisses));
+        }
+        System.out.println("Depth: " + search.getCompletedDepth() + ", nodes: "
+                + search.getNodes() + ", " + this.engine.getOptions().getDriver() + " re-searches: "
+                + search.getResearches()
+                + String.format(", first move cutoffs: %.1f%%", search.getFirstMoveCutoffRate()));
+        System.out.println("Search: " + search.getResult());
+        System.out.println("Selectivity: " + search.getSelectivityStatistics());
+        System.out.println("Transposition table: " + this.engine.getTranspositionTable());
+    }
+
+    /**
+     * Sets whether each move is printed with the statistics of its search: depth, nodes, the
+     * score and variation, selectivity, ponder hits and the transposition table. Off by default.
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Starts searching, in the background, the position after the opponent's reply that the
+     * last search predicted. Does nothing if it predicted none.
+     *
+     * @param currentBoard
+     *            the position after this player's move, with the opponent to move
+     */
+    public void startPondering(Board currentBoard) {
+        this.stopPondering();
+        final long[] principalVariation = this.lastResult == null ? new long[0]
+                : this.lastResult.getPrincipalVariation();
+        if (principalVariation.length < 2 || currentBoard.getSideToMove() == this.color) {
+            return;
+        }
+        final Board board = new Board(currentBoard);
+        board.movePiece(principalVariation[1]);
+        if (board.isEndState(this.color)) {
+            return;
+        }
+
+        this.ponderBoard = board;
+        final IterativeDeepeningSearch search = this.engine.createSearch(board, this.color);
+        // The clock only starts on a ponder hit, so the time limit is left to makeMove
+        final SearchLimits ponderLimits = new SearchLimits(this.limits.getMaxDepth(),
+                SearchLimits.UNLIMITED, this.limits.getMaxNodes());
+        this.ponderSearch = search;
+        this.ponderThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                search.search(ponderLimits);
+            }
+        }, "Ponder " + this.color);
+        this.ponderThread.setDaemon(true);
+        this.ponderStartTime = System.nanoTime();
+        this.ponderThread.start();
+    }
+
+    /**
+     * Stops pondering and waits for the pondering search to return; its results stay in the
+     * transposition table. Does nothing if the player is not pondering.
+     */
+    public void stopPondering() {
+        if (!this.isPondering()) {
+            return;
+        }
+        this.ponderSearch.stop();
+        boolean interrupted = false;
+        while (this.ponderThread.isAlive()) {
+            try {
+                this.ponderThread.join();
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        this.ponderThread = null;
     }
 
 }
@@ -22,8 +22,10 @@ public class HumanPlayer implements Player {
         final String moveString = reader.nextLine();
         try {
             final MoveInterface moveToMake = MoveBuilder.buildMove(moveString, currentBoard);
-            if (MoveGenerator.getAllPossibleMoves(currentBoard, this.getColor())
-                    .contains(moveToMake)) {
+            // The generator keeps one of the orders a capture sequence can be played in, so
+            // compare encoded moves rather than jump paths
+            if (MoveGenerator.isLegalMove(currentBoard, this.getColor(),
+                    MoveEncoding.encode(moveToMake))) {
                 currentBoard.movePiece(moveToMake);
                 this.printMove(moveToMake);
             } else {
@@ -0,0 +1,149 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs a move into a single {@code long} so the move generator and the search can work without
+ * allocating move objects or holding on to boards.
+ *
+ * <pre>
+ * bits  0-4   starting square (checkers number - 1)
+ * bits  5-9   ending square (checkers number - 1)
+ * bit  10     the moving man is crowned by this move
+ * bits 32-63  mask of the squares whose pieces are captured
+ * </pre>
+ *
+ * A move captures pieces exactly when its captured mask is non-zero. Two capture sequences with
+ * the same start, end and captured pieces leave the same position behind and share one encoding.
+ * {@link #NO_MOVE} never encodes a real move.
+ */
+public final class MoveEncoding {
+    public static final long NO_MOVE = 0L;
+
+    private static final int ENDING_SHIFT = 5;
+    private static final int POSITION_BITS = 0x1F;
+    private static final long PROMOTION_FLAG = 1L << 10;
+    private static final int CAPTURED_SHIFT = 32;
+
+    public static long encode(int startingPosition, int endingPosition, int capturedMask,
+            boolean isPromotion) {
+        long move = (startingPosition - 1) | ((endingPosition - 1) << ENDING_SHIFT);
+        if (isPromotion) {
+            move |= PROMOTION_FLAG;
+        }
+        return move | ((capturedMask & 0xFFFFFFFFL) << CAPTURED_SHIFT);
+    }
+
+    /**
+     * Encodes a move object, reading whether the move crowns a man from the move's board.
+     *
+     * @param move
+     *            the move to encode
+     * @return the encoded move
+     */
+    public static long encode(MoveInterface move) {
+        int capturedMask = 0;
+        if (move instanceof Jump) {
+            for (final int jumpedPosition : ((Jump) move).getJumpedPositions()) {
+                capturedMask |= BoardTopology.getMask(jumpedPosition);
+            }
+        }
+        final PieceInterface piece = move.getPiece();
+        final boolean isPromotion = !piece.isNull() && !piece.isKing()
+                && (BoardTopology.getMask(move.getEndingPosition())
+                        & BoardTopology.getPromotionRow(piece.getColor())) != 0;
+        return encode(move.getStartingPosition(), move.getEndingPosition(), capturedMask,
+                isPromotion);
+    }
+
+    private static boolean findJumpPath(int position, int endingPosition, int remainingCaptures,
+            int occupied, PieceInterface piece, List<Integer> landings) {
+        if (remainingCaptures == 0) {
+            return position == endingPosition;
+        }
+        for (int direction = 0; direction < BoardTopology.NUMBER_OF_DIRECTIONS; direction++) {
+            if (!piece.isKing() && !BoardTopology.isForwardDirection(piece.getColor(), direction)) {
+                continue;
+            }
+            final int landing = BoardTopology.getJumpLanding(position, direction);
+            if (landing == BoardTopology.NO_SQUARE) {
+                continue;
+            }
+            final int overMask = BoardTopology.getMask(BoardTopology.getJumpOver(position,
+                    direction));
+            if ((remainingCaptures & overMask) == 0
+                    || (occupied & BoardTopology.getMask(landing)) != 0) {
+                continue;
+            }
+            landings.add(landing);
+            if (findJumpPath(landing, endingPosition, remainingCaptures & ~overMask,
+                    occupied & ~overMask, piece, landings)) {
+                return true;
+            }
+            landings.remove(landings.size() - 1);
+        }
+        return false;
+    }
+
+    public static int getCapturedMask(long move) {
+        return (int) (move >>> CAPTURED_SHIFT);
+    }
+
+    public static int getEndingPosition(long move) {
+        return (int) ((move >>> ENDING_SHIFT) & POSITION_BITS) + 1;
+    }
+
+    public static int getStartingPosition(long move) {
+        return (int) (move & POSITION_BITS) + 1;
+    }
+
+    public static boolean isCapture(long move) {
+        return getCapturedMask(move) != 0;
+    }
+
+    public static boolean isPromotion(long move) {
+        return (move & PROMOTION_FLAG) != 0;
+    }
+
+    /**
+     * Builds the move object for an encoded move, for code that works with {@link MoveInterface}.
+     * The landing squares of a multi-jump are recovered from the board.
+     *
+     * @param move
+     *            an encoded move that is legal on the board
+     * @param board
+     *            the board the move is played on
+     * @return a {@link Move}, {@link SingleJump} or {@link MultiJump}
+     */
+    public static MoveInterface toMoveInterface(long move, Board board) {
+        final int startingPosition = getStartingPosition(move);
+        final int endingPosition = getEndingPosition(move);
+        final int capturedMask = getCapturedMask(move);
+
+        if (capturedMask == 0) {
+            return new Move(startingPosition, endingPosition, board);
+        } else if (Integer.bitCount(capturedMask) == 1) {
+            return new SingleJump(startingPosition, endingPosition, board);
+        }
+
+        final int occupied = (board.getPieceMask(PieceColor.BLACK)
+                | board.getPieceMask(PieceColor.WHITE)) & ~BoardTopology.getMask(startingPosition);
+        final List<Integer> landings = new ArrayList<>();
+        if (!findJumpPath(startingPosition, endingPosition, capturedMask, occupied,
+                board.getPiece(startingPosition), landings)) {
+            throw new IllegalArgumentException(
+                    "Move " + toString(move) + " cannot be played on this board.");
+        }
+        return new MultiJump(startingPosition, endingPosition,
+                landings.subList(0, landings.size() - 1), board);
+    }
+
+    public static String toString(long move) {
+        final String separator = isCapture(move) ? "x" : "-";
+        return getStartingPosition(move) + separator + getEndingPosition(move);
+    }
+
+    private MoveEncoding() {
+    }
+}
@@ -1,125 +1,322 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
+/**
+ * Generates legal moves. Moves are produced as {@link MoveEncoding} longs; the methods returning
+ * {@link MoveInterface} sets build move objects from them for callers that need objects.
+ */
 public final class MoveGenerator {
-    private static Set<MoveInterface> calculateJumpMoves(Board board, Set<Square> playersSquares) {
+    /**
+     * Size of a move buffer that is large enough for any position.
+     */
+    public static final int MAX_MOVES = 128;
 
-        final Set<MoveInterface> possibleMoves = new HashSet<>();
+    private static int addMove(long[] moves, int numberOfMoves, long move) {
+        // Capture sequences that only differ in the order of the jumps are one move
+        for (int i = 0; i < numberOfMoves; i++) {
+            if (moves[i] == move) {
+                return numberOfMoves;
+            }
+        }
+        moves[numberOfMoves] = move;
+        return numberOfMoves + 1;
+    }
 
-        for (final Square startingSquare : playersSquares) {
-            for (final Square squareOneJumpAway : board
-                    .getSquaresThatMightBeOneJumpAway(startingSquare)) {
+    private static int calculateJumpMoves(Board board, PieceColor color, long[] moves) {
+        int numberOfMoves = 0;
 
-                final SingleJump jump = new SingleJump(startingSquare.getPosition(),
-                        squareOneJumpAway.getPosition(), board);
+        final int opponentPieces = board.getPieceMask(color.getOppositeColor());
+        final int emptySquares = ~(board.getPieceMask(PieceColor.BLACK)
+                | board.getPieceMask(PieceColor.WHITE));
+        final int kings = board.getKingMask();
 
-                if (MoveValidator.isValidMove(jump)) {
-                    final ArrayList<SingleJump> jumps = new ArrayList<>();
-                    jumps.add(jump);
-                    calculateMultiJumpMoves(jumps, possibleMoves);
-                }
+        int remainingPieces = board.getPieceMask(color);
+        while (remainingPieces != 0) {
+            final int pieceMask = remainingPieces & -remainingPieces;
+            final int startingPosition = Integer.numberOfTrailingZeros(pieceMask) + 1;
+            // The jumping piece leaves its square, so a king may come back to it
+            numberOfMoves = calculateMultiJumpMoves(color, (kings & pieceMask) != 0,
+                    startingPosition, startingPosition, opponentPieces, emptySquares | pieceMask,
+                    0, moves, numberOfMoves);
+            remainingPieces &= remainingPieces - 1;
+        }
+        return numberOfMoves;
+    }
+
+    /**
+     * Follows every capture sequence from a square using masks only. The masks describe the
+     * position after the jumps made so far: captured pieces are taken off the opponent's pieces
+     * and their squares are free again. Finished sequences are added to the buffer, and the new
+     * number of moves is returned.
+     */
+    private static int calculateMultiJumpMoves(PieceColor color, boolean isKing,
+            int startingPosition, int position, int opponentPieces, int emptySquares,
+            int capturedMask, long[] moves, int numberOfMoves) {
+        int movesFound = numberOfMoves;
+        boolean noMoreJumps = true;
+
+        for (int direction = 0; direction < BoardTopology.NUMBER_OF_DIRECTIONS; direction++) {
+            if (!isKing && !BoardTopology.isForwardDirection(color, direction)) {
+                continue;
+            }
+            final int landing = BoardTopology.getJumpLanding(position, direction);
+            if (landing == BoardTopology.NO_SQUARE) {
+                continue;
+            }
+            final int overMask = BoardTopology.getMask(BoardTopology.getJumpOver(position,
+                    direction));
+            final int landingMask = BoardTopology.getMask(landing);
+            if ((opponentPieces & overMask) == 0 || (emptySquares & landingMask) == 0) {
+                continue;
+            }
+
+            noMoreJumps = false;
+            if (!isKing && (landingMask & BoardTopology.getPromotionRow(color)) != 0) {
+                // must stop when kinged
+                movesFound = addMove(moves, movesFound, MoveEncoding.encode(startingPosition,
+                        landing, capturedMask | overMask, true));
+            } else {
+                movesFound = calculateMultiJumpMoves(color, isKing, startingPosition, landing,
+                        opponentPieces & ~overMask, emptySquares | overMask,
+                        capturedMask | overMask, moves, movesFound);
             }
         }
-        return possibleMoves;
+
+        // If we didn't find any more pieces to jump,
+        // then this jump chain has terminated and needs to be
+        // added to the possible moves
+        if (noMoreJumps && capturedMask != 0) {
+            movesFound = addMove(moves, movesFound,
+                    MoveEncoding.encode(startingPosition, position, capturedMask, false));
+        }
+        return movesFound;
     }
 
-    private static void calculateMultiJumpMoves(ArrayList<SingleJump> jumps,
-            Set<MoveInterface> possibleMoves) {
+    private static int calculateNonJumpMoves(Board board, PieceColor color, long[] moves) {
+        int numberOfMoves = 0;
+
+        final int emptySquares = ~(board.getPieceMask(PieceColor.BLACK)
+                | board.getPieceMask(PieceColor.WHITE));
+        final int kings = board.getKingMask();
+        final int promotionRow = BoardTopology.getPromotionRow(color);
 
-        final SingleJump lastJump = jumps.get(jumps.size() - 1);
+        int remainingPieces = board.getPieceMask(color);
+        while (remainingPieces != 0) {
+            final int pieceMask = remainingPieces & -remainingPieces;
+            final int startingPosition = Integer.numberOfTrailingZeros(pieceMask) + 1;
+            final boolean isKing = (kings & pieceMask) != 0;
 
-        final Board newBoard = new Board(lastJump.getBoard());
+            for (int direction = 0; direction < BoardTopology.NUMBER_OF_DIRECTIONS; direction++) {
+                if (!isKing && !BoardTopology.isForwardDirection(color, direction)) {
+                    continue;
+                }
+                final int endingPosition = BoardTopology.getNeighbour(startingPosition, direction);
+                if (endingPosition == BoardTopology.NO_SQUARE) {
+                    continue;
+                }
+                final int endingMask = BoardTopology.getMask(endingPosition);
+                if ((emptySquares & endingMask) != 0) {
+                    final boolean isPromotion = !isKing && (endingMask & promotionRow) != 0;
+                    moves[numberOfMoves++] = MoveEncoding.encode(startingPosition, endingPosition,
+                            0, isPromotion);
+                }
+            }
+            remainingPieces &= remainingPieces - 1;
+        }
+        return numberOfMoves;
+    }
 
-        newBoard.movePiece(lastJump);
+    /**
+     * Counts a player's non-capture moves on masks, without generating them: each direction's
+     * moves are the empty squares one step away from the pieces that can step that way.
+     */
+    public static int countNonJumpMoves(Board board, PieceColor color) {
+        final int emptySquares = ~(board.getPieceMask(PieceColor.BLACK)
+                | board.getPieceMask(PieceColor.WHITE));
+        final int pieces = board.getPieceMask(color);
+        final int kings = pieces & board.getKingMask();
 
-        final boolean oldKingStatus = lastJump.getPiece().isKing();
-        final boolean newKingStatus = newBoard.getPiece(lastJump.getEndingPosition()).isKing();
-        final boolean wasKingingJump = (oldKingStatus == false) && (newKingStatus == true);
+        int numberOfMoves = 0;
+        for (int direction = 0; direction < BoardTopology.NUMBER_OF_DIRECTIONS; direction++) {
+            final int movers = BoardTopology.isForwardDirection(color, direction) ? pieces
+                    : kings;
+            numberOfMoves += Integer.bitCount(BoardTopology.shiftMask(movers, direction)
+                    & emptySquares);
+        }
+        return numberOfMoves;
+    }
 
-        boolean noMoreJumps = true;
+    /**
+     * Writes only the capture moves for a player into a caller-owned buffer.
+     *
+     * @return the number of moves written
+     * @see #generateMoves(Board, PieceColor, long[])
+     */
+    public static int generateJumpMoves(Board board, PieceColor color, long[] moves) {
+        return calculateJumpMoves(board, color, moves);
+    }
 
-        if (!wasKingingJump) { // must stop when kinged
-            final Square lastSquare = lastJump.getEndingSquare();
+    /**
+     * Generates the legal moves for a player. Captures are forced, so when any capture exists
+     * only captures are returned.
+     *
+     * @param board
+     *            the current board
+     * @param playersColor
+     *            the player to move
+     * @return the legal moves, encoded by {@link MoveEncoding}
+     */
+    public static long[] generateMoves(Board board, PieceColor playersColor) {
+        final long[] moves = new long[MAX_MOVES];
+        return Arrays.copyOf(moves, generateMoves(board, playersColor, moves));
+    }
+
+    /**
+     * Writes the legal moves for a player into a caller-owned buffer, starting at index 0.
+     * Captures are forced, so when any capture exists only captures are written. Moves come out
+     * in a fixed order: by starting square, then by direction.
+     *
+     * @param board
+     *            the current board
+     * @param playersColor
+     *            the player to move
+     * @param moves
+     *            buffer of at least {@link #MAX_MOVES} entries that receives the encoded moves
+     * @return the number of moves written
+     */
+    public static int generateMoves(Board board, PieceColor playersColor, long[] moves) {
+        final int numberOfJumpMoves = calculateJumpMoves(board, playersColor, moves);
+        if (numberOfJumpMoves > 0) {
+            return numberOfJumpMoves;
+        }
+        return calculateNonJumpMoves(board, playersColor, moves);
+    }
 
-            for (final Square squareOneJumpAway : newBoard
-                    .getSquaresThatMightBeOneJumpAway(lastSquare)) {
+    /**
+     * Writes only the non-capture moves for a player into a caller-owned buffer, whether or not
+     * a capture is available.
+     *
+     * @return the number of moves written
+     * @see #generateMoves(Board, PieceColor, long[])
+     */
+    public static int generateNonJumpMoves(Board board, PieceColor color, long[] moves) {
+        return calculateNonJumpMoves(board, color, moves);
+    }
+
+    public static Set<MoveInterface> getAllPossibleMoves(Board board, PieceColor playersColor) {
+        final long[] moves = new long[MAX_MOVES];
+        return toMoveInterfaces(moves, generateMoves(board, playersColor, moves), board);
+    }
 
-                final SingleJump jump = new SingleJump(lastSquare.getPosition(),
-                        squareOneJumpAway.getPosition(), newBoard);
-                if (MoveValidator.isValidMove(jump)) {
+    public static Set<MoveInterface> getJumpMoves(Board board, PieceColor color) {
+        final long[] moves = new long[MAX_MOVES];
+        return toMoveInterfaces(moves, calculateJumpMoves(board, color, moves), board);
+    }
 
-                    noMoreJumps = false;
+    public static Set<MoveInterface> getNonJumpMoves(Board board, PieceColor currentPlayersColor) {
+        final long[] moves = new long[MAX_MOVES];
+        return toMoveInterfaces(moves, calculateNonJumpMoves(board, currentPlayersColor, moves),
+                board);
+    }
 
-                    final ArrayList<SingleJump> jumpsCopy = new ArrayList<>();
-                    jumpsCopy.addAll(jumps);
-                    jumpsCopy.add(jump);
+    /**
+     * Returns whether a player has any legal move, stopping at the first step or jump found.
+     * Nothing is generated; the whole test is done on masks.
+     */
+    public static boolean hasAnyLegalMove(Board board, PieceColor color) {
+        final int emptySquares = ~(board.getPieceMask(PieceColor.BLACK)
+                | board.getPieceMask(PieceColor.WHITE));
+        final int pieces = board.getPieceMask(color);
+        final int kings = pieces & board.getKingMask();
 
-                    calculateMultiJumpMoves(jumpsCopy, possibleMoves);
-                }
+        for (int direction = 0; direction < BoardTopology.NUMBER_OF_DIRECTIONS; direction++) {
+            final int movers = BoardTopology.isForwardDirection(color, direction) ? pieces
+                    : kings;
+            if ((BoardTopology.shiftMask(movers, direction) & emptySquares) != 0) {
+                return true;
             }
         }
+        // A player that cannot step can still have a move if it can jump
+        return hasJumpMove(board, color);
+    }
 
-        // If we didn't find any more pieces to jump,
-        // then this jump chain has terminated and needs to be
-        // added to the possible moves
-        if (noMoreJumps) {
-            final int startingPosition = jumps.get(0).getStartingPosition();
-            final Board startingBoard = jumps.get(0).getBoard();
-            final int endingPosition = jumps.get(jumps.size() - 1).getEndingPosition();
+    /**
+     * Returns whether a player has a capture available, without building any capture sequence.
+     */
+    public static boolean hasJumpMove(Board board, PieceColor color) {
+        final int opponentPieces = board.getPieceMask(color.getOppositeColor());
+        final int emptySquares = ~(board.getPieceMask(PieceColor.BLACK)
+                | board.getPieceMask(PieceColor.WHITE));
+        final int pieces = board.getPieceMask(color);
+        final int kings = pieces & board.getKingMask();
 
-            if (jumps.size() == 1) {
-                possibleMoves.add(new SingleJump(startingPosition, endingPosition, startingBoard));
-            } else {
-                final List<Integer> intermediatePositions = new ArrayList<>();
-                for (int i = 0; i < jumps.size(); i++) {
-                    if ((i != 0) && (i != jumps.size())) {
-                        intermediatePositions.add(jumps.get(i).getStartingPosition());
-                    }
-                }
-                possibleMoves.add(new MultiJump(startingPosition, endingPosition,
-                        intermediatePositions, startingBoard));
+        for (int direction = 0; direction < BoardTopology.NUMBER_OF_DIRECTIONS; direction++) {
+            final int movers = BoardTopology.isForwardDirection(color, direction) ? pieces
+                    : kings;
+            final int jumpedPieces = BoardTopology.shiftMask(movers, direction) & opponentPieces;
+            if ((BoardTopology.shiftMask(jumpedPieces, direction) & emptySquares) != 0) {
+                return true;
             }
         }
+        return false;
     }
 
-    private static Set<MoveInterface> calculateNonJumpMoves(Board board,
-            Set<Square> playersSquares) {
-        final Set<MoveInterface> possibleNonJumpMoves = new HashSet<>();
-        for (final Square startingSquare : playersSquares) {
-            for (final Square adjacentSquare : board.getAdjacentSquares(startingSquare)) {
-                final Move normalMove = new Move(startingSquare.getPosition(),
-                        adjacentSquare.getPosition(), board);
-                if (MoveValidator.isValidMove(normalMove)) {
-                    possibleNonJumpMoves.add(normalMove);
-                }
+    /**
+     * Returns whether an encoded move is one of a player's legal moves. Encoded moves do not keep
+     * the order of the jumps, so a capture sequence is legal whichever order it takes its pieces
+     * in, as long as one of those orders is.
+     */
+    public static boolean isLegalMove(Board board, PieceColor color, long move) {
+        final long[] moves = new long[MAX_MOVES];
+        final int numberOfMoves = generateMoves(board, color, moves);
+        for (int i = 0; i < numberOfMoves; i++) {
+            if (moves[i] == move) {
+                return true;
             }
         }
-        return possibleNonJumpMoves;
+        return false;
     }
 
-    public static Set<MoveInterface> getAllPossibleMoves(Board board, PieceColor playersColor) {
-        final Set<Square> playersSquares = board.getSquaresForPlayer(playersColor);
-        final Set<MoveInterface> possibleMoves = calculateJumpMoves(board, playersSquares);
-        if (possibleMoves.isEmpty()) {
-            possibleMoves.addAll(calculateNonJumpMoves(board, playersSquares));
+    /**
+     * Checks that an encoded non-capture move can be played by a player on the board, e.g. a
+     * killer move remembered from another position. Forced captures are not taken into account.
+     */
+    public static boolean isValidNonJumpMove(Board board, PieceColor color, long move) {
+        if (move == MoveEncoding.NO_MOVE || MoveEncoding.isCapture(move)) {
+            return false;
+        }
+        final int startingPosition = MoveEncoding.getStartingPosition(move);
+        final int endingPosition = MoveEncoding.getEndingPosition(move);
+        final int startingMask = BoardTopology.getMask(startingPosition);
+        final int endingMask = BoardTopology.getMask(endingPosition);
+        if ((board.getPieceMask(color) & startingMask) == 0
+                || ((board.getPieceMask(PieceColor.BLACK) | board.getPieceMask(PieceColor.WHITE))
+                        & endingMask) != 0) {
+            return false;
         }
 
-        return possibleMoves;
-    }
-
-    public static Set<MoveInterface> getJumpMoves(Board board, PieceColor color) {
-        final Set<Square> playersSquares = board.getSquaresForPlayer(color);
-        return calculateJumpMoves(board, playersSquares);
+        final boolean isKing = (board.getKingMask() & startingMask) != 0;
+        for (int direction = 0; direction < BoardTopology.NUMBER_OF_DIRECTIONS; direction++) {
+            if (BoardTopology.getNeighbour(startingPosition, direction) == endingPosition) {
+                final boolean isPromotion = !isKing
+                        && (endingMask & BoardTopology.getPromotionRow(color)) != 0;
+                return (isKing || BoardTopology.isForwardDirection(color, direction))
+                        && isPromotion == MoveEncoding.isPromotion(move);
+            }
+        }
+        return false;
     }
 
-    public static Set<MoveInterface> getNonJumpMoves(Board board, PieceColor currentPlayersColor) {
-        final Set<Square> currentPlayersOccupiedSquares = board
-                .getSquaresForPlayer(currentPlayersColor);
-        return calculateNonJumpMoves(board, currentPlayersOccupiedSquares);
+    private static Set<MoveInterface> toMoveInterfaces(long[] moves, int numberOfMoves,
+            Board board) {
+        final Set<MoveInterface> possibleMoves = new HashSet<>();
+        for (int i = 0; i < numberOfMoves; i++) {
+            possibleMoves.add(MoveEncoding.toMoveInterface(moves[i], board));
+        }
+        return possibleMoves;
     }
 
     private MoveGenerator() {
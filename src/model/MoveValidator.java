@@ -1,7 +1,6 @@
 package model;
 
 import java.util.ArrayList;
-import java.util.List;
 
 public class MoveValidator {
     private static boolean isLegalMoveDirection(MoveInterface move) {
@@ -28,7 +27,7 @@ public class MoveValidator {
     public static boolean isValidMove(MoveInterface move) {
         if (move.getPiece().isNull()) {
             return false;
-        } else if (move.getEndingSquare().isOccupied()) {
+        } else if (!move.getBoard().getPiece(move.getEndingPosition()).isNull()) {
             return false;
         } else {
             if (move instanceof Move) {
@@ -74,17 +73,14 @@ public class MoveValidator {
     }
 
     private static boolean isValidNonJumpMove(Move move) {
-        Board board = move.getBoard();
-
         if (!isLegalMoveDirection(move)) {
             return false;
         }
 
-        List<Integer> startingSquareAdjacentPositions = board.getSquare(move.getStartingPosition())
-                .getAdjacentPositions();
-        int endingSquarePosition = board.getSquare(move.getEndingPosition()).getPosition();
+        int startingSquareAdjacentMask = BoardTopology.getAdjacentMask(move.getStartingPosition());
+        int endingSquareMask = BoardTopology.getMask(move.getEndingPosition());
 
-        if (!startingSquareAdjacentPositions.contains(endingSquarePosition)) {
+        if ((startingSquareAdjacentMask & endingSquareMask) == 0) {
             return false;
         } else {
             return true;
@@ -103,30 +99,20 @@ public class MoveValidator {
     }
 
     private static boolean isValidSingleJumpHelper(SingleJump jump) {
-        Square jumpedSquare = jump.getJumpedSquares().get(0);
-        int positionDifference = Math.abs(jump.getStartingPosition() - jump.getEndingPosition());
-        PieceInterface jumpedPiece = jump.getJumpedPieces().get(0);
+        int jumpedPosition = BoardTopology.getJumpedPosition(jump.getStartingPosition(),
+                jump.getEndingPosition());
+
+        // Also rejects jumps that would wrap around the edge of the board
+        if (jumpedPosition == BoardTopology.NO_SQUARE) {
+            return false;
+        }
+
+        PieceInterface jumpedPiece = jump.getBoard().getPiece(jumpedPosition);
 
-        if (!jumpedSquare.isOccupied()) {
+        if (jumpedPiece.isNull()) {
             return false;
         } else if (jump.getPiece().isSameColorAs(jumpedPiece)) {
             return false;
-        } else if (jump.getStartingSquare().isInLeftTwoColumns()) {
-            // Handle jumping off the left edge of the board
-            if (jump.getStartingPosition() > jump.getEndingPosition() && positionDifference != 7) {
-                return false;
-            } else if (jump.getStartingPosition() < jump.getEndingPosition()
-                    && positionDifference != 9) {
-                return false;
-            }
-        } else if (jump.getStartingSquare().isInRightTwoColumns()) {
-            // Handle jumping off the right edge of the board
-            if (jump.getStartingPosition() > jump.getEndingPosition() && positionDifference != 9) {
-                return false;
-            } else if (jump.getStartingPosition() < jump.getEndingPosition()
-                    && positionDifference != 7) {
-                return false;
-            }
         }
 
         return true;
@@ -2,14 +2,10 @@ package model;
 
 public final class NullPiece implements PieceInterface {
 
-    private static NullPiece instance = null;
+    private static final NullPiece INSTANCE = new NullPiece();
 
     public static NullPiece getInstance() {
-        if (instance == null) {
-            instance = new NullPiece();
-        }
-
-        return instance;
+        return INSTANCE;
     }
 
     private NullPiece() {
@@ -45,8 +41,4 @@ public final class NullPiece implements PieceInterface {
         return false;
     }
 
-    @Override
-    public void kingMe() {
-    }
-
 }
@@ -1,8 +1,30 @@
 package model;
 
-public class Piece implements PieceInterface {
+/**
+ * An immutable checkers piece. Only four distinct pieces exist, and {@link #getInstance} hands out
+ * a shared instance for each of them, so pieces can be shared freely between boards and threads.
+ * A man is crowned by replacing it with the king of the same color.
+ */
+public final class Piece implements PieceInterface {
+    private static final Piece BLACK_KING = new Piece(PieceColor.BLACK, true);
+    private static final Piece BLACK_MAN = new Piece(PieceColor.BLACK, false);
+    private static final Piece WHITE_KING = new Piece(PieceColor.WHITE, true);
+    private static final Piece WHITE_MAN = new Piece(PieceColor.WHITE, false);
+
+    public static Piece getInstance(PieceColor color) {
+        return getInstance(color, false);
+    }
+
+    public static Piece getInstance(PieceColor color, boolean isKing) {
+        if (color == PieceColor.BLACK) {
+            return isKing ? BLACK_KING : BLACK_MAN;
+        } else {
+            return isKing ? WHITE_KING : WHITE_MAN;
+        }
+    }
+
     private final PieceColor color;
-    boolean king;
+    private final boolean king;
 
     public Piece(PieceColor color) {
         this.color = color;
@@ -24,6 +46,15 @@ public class Piece implements PieceInterface {
         return this.color;
     }
 
+    /**
+     * Returns the king of this piece's color.
+     *
+     * @return the shared king instance
+     */
+    public Piece getKing() {
+        return getInstance(this.color, true);
+    }
+
     @Override
     public boolean isBlack() {
         return this.getColor().equals(PieceColor.BLACK);
@@ -49,11 +80,6 @@ public class Piece implements PieceInterface {
         return this.getColor().equals(PieceColor.WHITE);
     }
 
-    @Override
-    public void kingMe() {
-        this.king = true;
-    }
-
     @Override
     public int hashCode() {
         final int prime = 31;
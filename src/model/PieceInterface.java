@@ -12,6 +12,4 @@ public interface PieceInterface {
     public boolean isSameColorAs(PieceInterface otherPiece);
 
     public boolean isWhite();
-
-    public void kingMe();
 }
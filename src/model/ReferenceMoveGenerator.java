@@ -0,0 +1,253 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A deliberately simple move generator for the fuzz harness in {@code model.fuzz} to check
+ * {@link MoveGenerator} and {@link Board} against. It shares no code with them: a position is a
+ * plain array of squares, read once from the board's piece masks, and the geometry is worked out
+ * from rows and columns on every step. It is far too slow for the search.
+ *
+ * Squares are numbered 1 to 32 from black's side, four to a row; black men move towards the
+ * higher numbers and white men towards the lower ones. Captures are forced, men capture forwards
+ * only, a captured piece leaves the board as it is jumped, and a man that reaches the far row
+ * during a capture is crowned and stops there. Every jump path is kept, so a capture that can take
+ * its pieces in several orders is listed once for each.
+ */
+public final class ReferenceMoveGenerator {
+
+    /**
+     * A move found by the reference generator.
+     */
+    public static final class ReferenceMove {
+        private final List<Integer> capturedSquares;
+        private final int endingSquare;
+        private final boolean promotion;
+        private final int startingSquare;
+
+        ReferenceMove(int startingSquare, int endingSquare, List<Integer> capturedSquares,
+                boolean promotion) {
+            this.startingSquare = startingSquare;
+            this.endingSquare = endingSquare;
+            this.capturedSquares = Collections.unmodifiableList(new ArrayList<>(capturedSquares));
+            this.promotion = promotion;
+        }
+
+        /**
+         * Returns the move as {@link MoveEncoding} would write it.
+         */
+        public long encode() {
+            int capturedMask = 0;
+            for (final int square : this.capturedSquares) {
+                capturedMask |= 1 << (square - 1);
+            }
+            return MoveEncoding.encode(this.startingSquare, this.endingSquare, capturedMask,
+                    this.promotion);
+        }
+
+        /**
+         * Returns the squares the move captures on, in the order it jumps them.
+         */
+        public List<Integer> getCapturedSquares() {
+            return this.capturedSquares;
+        }
+
+        public int getEndingSquare() {
+            return this.endingSquare;
+        }
+
+        public int getStartingSquare() {
+            return this.startingSquare;
+        }
+
+        public boolean isPromotion() {
+            return this.promotion;
+        }
+
+        /**
+         * Returns the squares after the move is played on them; the array given is left as it is.
+         */
+        public int[] play(int[] squares) {
+            final int[] result = Arrays.copyOf(squares, squares.length);
+            final int piece = result[this.startingSquare];
+            result[this.startingSquare] = EMPTY;
+            for (final int square : this.capturedSquares) {
+                result[square] = EMPTY;
+            }
+            result[this.endingSquare] = this.promotion ? crown(piece) : piece;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder().append(this.startingSquare);
+            builder.append(this.capturedSquares.isEmpty() ? "-" : "x");
+            for (final int square : this.capturedSquares) {
+                builder.append('(').append(square).append(')');
+            }
+            return builder.append(this.endingSquare).toString();
+        }
+    }
+
+    public static final int BLACK_KING = 2;
+    public static final int BLACK_MAN = 1;
+    public static final int EMPTY = 0;
+    public static final int WHITE_KING = 4;
+    public static final int WHITE_MAN = 3;
+
+    private static final int ROWS = 8;
+    private static final int SQUARES = 32;
+    private static final int SQUARES_PER_ROW = 4;
+
+    private static void addJumps(int[] squares, int startingSquare, int square, int piece,
+            List<Integer> captured, List<ReferenceMove> moves) {
+        boolean jumped = false;
+        for (final int[] direction : directions(piece)) {
+            final int over = neighbour(square, direction[0], direction[1]);
+            final int landing = neighbour(square, 2 * direction[0], 2 * direction[1]);
+            if (over == 0 || landing == 0 || !isOpponent(piece, squares[over])
+                    || squares[landing] != EMPTY) {
+                continue;
+            }
+            jumped = true;
+            final int[] afterJump = Arrays.copyOf(squares, squares.length);
+            afterJump[square] = EMPTY;
+            afterJump[over] = EMPTY;
+            afterJump[landing] = piece;
+            captured.add(over);
+            if (isMan(piece) && row(landing) == promotionRow(piece)) {
+                // Crowning ends the capture
+                moves.add(new ReferenceMove(startingSquare, landing, captured, true));
+            } else {
+                addJumps(afterJump, startingSquare, landing, piece, captured, moves);
+            }
+            captured.remove(captured.size() - 1);
+        }
+        if (!jumped && !captured.isEmpty()) {
+            moves.add(new ReferenceMove(startingSquare, square, captured, false));
+        }
+    }
+
+    private static int color(int piece) {
+        return piece == BLACK_MAN || piece == BLACK_KING ? BLACK_MAN : WHITE_MAN;
+    }
+
+    private static int column(int square) {
+        final int indexInRow = (square - 1) % SQUARES_PER_ROW;
+        // The rows are offset: even rows start on the second column
+        return 2 * indexInRow + (row(square) % 2 == 0 ? 1 : 0);
+    }
+
+    private static int crown(int piece) {
+        return piece == BLACK_MAN ? BLACK_KING : piece == WHITE_MAN ? WHITE_KING : piece;
+    }
+
+    /**
+     * Returns the row and column steps a piece can move in.
+     */
+    private static int[][] directions(int piece) {
+        if (piece == BLACK_MAN) {
+            return new int[][] { { 1, -1 }, { 1, 1 } };
+        }
+        if (piece == WHITE_MAN) {
+            return new int[][] { { -1, -1 }, { -1, 1 } };
+        }
+        return new int[][] { { 1, -1 }, { 1, 1 }, { -1, -1 }, { -1, 1 } };
+    }
+
+    /**
+     * Returns a player's legal moves: its captures if it has any, its steps otherwise.
+     */
+    public static List<ReferenceMove> getAllPossibleMoves(int[] squares, PieceColor color) {
+        final List<ReferenceMove> moves = getJumpMoves(squares, color);
+        return moves.isEmpty() ? getNonJumpMoves(squares, color) : moves;
+    }
+
+    public static List<ReferenceMove> getJumpMoves(int[] squares, PieceColor color) {
+        final List<ReferenceMove> moves = new ArrayList<>();
+        for (int square = 1; square <= SQUARES; square++) {
+            if (isOwn(color, squares[square])) {
+                addJumps(squares, square, square, squares[square], new ArrayList<Integer>(),
+                        moves);
+            }
+        }
+        return moves;
+    }
+
+    public static List<ReferenceMove> getNonJumpMoves(int[] squares, PieceColor color) {
+        final List<ReferenceMove> moves = new ArrayList<>();
+        final List<Integer> noCaptures = Collections.emptyList();
+        for (int square = 1; square <= SQUARES; square++) {
+            final int piece = squares[square];
+            if (!isOwn(color, piece)) {
+                continue;
+            }
+            for (final int[] direction : directions(piece)) {
+                final int target = neighbour(square, direction[0], direction[1]);
+                if (target != 0 && squares[target] == EMPTY) {
+                    moves.add(new ReferenceMove(square, target, noCaptures,
+                            isMan(piece) && row(target) == promotionRow(piece)));
+                }
+            }
+        }
+        return moves;
+    }
+
+    private static boolean isMan(int piece) {
+        return piece == BLACK_MAN || piece == WHITE_MAN;
+    }
+
+    private static boolean isOpponent(int piece, int other) {
+        return other != EMPTY && color(other) != color(piece);
+    }
+
+    private static boolean isOwn(PieceColor color, int piece) {
+        return piece != EMPTY
+                && color(piece) == (color == PieceColor.BLACK ? BLACK_MAN : WHITE_MAN);
+    }
+
+    /**
+     * Returns the square a number of rows and columns away, or 0 off the board.
+     */
+    private static int neighbour(int square, int rowStep, int columnStep) {
+        final int row = row(square) + rowStep;
+        final int column = column(square) + columnStep;
+        if (row < 0 || row >= ROWS || column < 0 || column >= ROWS) {
+            return 0;
+        }
+        return row * SQUARES_PER_ROW + column / 2 + 1;
+    }
+
+    private static int promotionRow(int piece) {
+        return color(piece) == BLACK_MAN ? ROWS - 1 : 0;
+    }
+
+    private static int row(int square) {
+        return (square - 1) / SQUARES_PER_ROW;
+    }
+
+    /**
+     * Reads a board into an array indexed by square number; entry 0 is unused.
+     */
+    public static int[] toSquares(Board board) {
+        final int[] squares = new int[SQUARES + 1];
+        final int black = board.getPieceMask(PieceColor.BLACK);
+        final int white = board.getPieceMask(PieceColor.WHITE);
+        final int kings = board.getKingMask();
+        for (int square = 1; square <= SQUARES; square++) {
+            final int bit = 1 << (square - 1);
+            if ((black & bit) != 0) {
+                squares[square] = (kings & bit) != 0 ? BLACK_KING : BLACK_MAN;
+            } else if ((white & bit) != 0) {
+                squares[square] = (kings & bit) != 0 ? WHITE_KING : WHITE_MAN;
+            }
+        }
+        return squares;
+    }
+
+    private ReferenceMoveGenerator() {
+    }
+}
@@ -33,35 +33,20 @@ public class SingleJump implements Jump {
     public SingleJump(SingleJump otherJump) {
         this.board = new Board(otherJump.getBoard());
         this.endingPosition = otherJump.getEndingPosition();
-        this.piece = new Piece(otherJump.getPiece());
+        this.piece = otherJump.getPiece();
         this.startingPosition = otherJump.getStartingPosition();
         this.jumpedPositions = otherJump.determineJumpedPositions();
     }
 
     private ArrayList<Integer> determineJumpedPositions() {
         ArrayList<Integer> jumpedPositions = new ArrayList<>(1);
-        int jumpedPosition = -1;
-
-        final int positionDifference = Math.abs((this.startingPosition - this.endingPosition));
-        final int startingPositionRowNumber = this.board.getSquare(this.startingPosition)
-                .getRowNumber();
-        final boolean startingPositionIsOnEvenRow = startingPositionRowNumber % 2 == 0;
-
-        if (positionDifference == 7) {
-            if (startingPositionIsOnEvenRow) {
-                jumpedPosition = Math.max(this.startingPosition, this.endingPosition) - 4;
-            } else {
-                jumpedPosition = Math.max(this.startingPosition, this.endingPosition) - 3;
-            }
-        } else if (positionDifference == 9) {
-            if (startingPositionIsOnEvenRow) {
-                jumpedPosition = Math.max(this.startingPosition, this.endingPosition) - 5;
-            } else {
-                jumpedPosition = Math.max(this.startingPosition, this.endingPosition) - 4;
-            }
-        }
+        final int jumpedPosition = BoardTopology.getJumpedPosition(this.startingPosition,
+                this.endingPosition);
 
-        jumpedPositions.add(jumpedPosition);
+        // Jumps that would wrap around the edge of the board do not jump any square
+        if (jumpedPosition != BoardTopology.NO_SQUARE) {
+            jumpedPositions.add(jumpedPosition);
+        }
         return jumpedPositions;
     }
 
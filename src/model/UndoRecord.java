@@ -0,0 +1,14 @@
+package model;
+
+/**
+ * Holds what {@link Board#unmakeMove(UndoRecord)} needs to revert a move applied with
+ * {@link Board#makeMove(MoveInterface, UndoRecord)}. A record can be reused for any number of
+ * moves, so a search needs only one per ply.
+ */
+public final class UndoRecord {
+    int blackPieces;
+    int kings;
+    PieceColor sideToMove;
+    int whitePieces;
+    long zobristKey;
+}
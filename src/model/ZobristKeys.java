@@ -0,0 +1,45 @@
+package model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys used to hash a board position. A position's key is the XOR of the key for
+ * every piece on the board, plus the side-to-move key when white is to move. The keys come from a
+ * fixed seed, so a position hashes to the same value in every JVM.
+ */
+final class ZobristKeys {
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final long[] BLACK_KINGS = new long[32];
+    private static final long[] BLACK_MEN = new long[32];
+    private static final long[] WHITE_KINGS = new long[32];
+    private static final long[] WHITE_MEN = new long[32];
+    private static final long WHITE_TO_MOVE;
+
+    static {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        for (int index = 0; index < 32; index++) {
+            BLACK_MEN[index] = random.nextLong();
+            BLACK_KINGS[index] = random.nextLong();
+            WHITE_MEN[index] = random.nextLong();
+            WHITE_KINGS[index] = random.nextLong();
+        }
+        WHITE_TO_MOVE = random.nextLong();
+    }
+
+    static long getPieceKey(int position, boolean isBlack, boolean isKing) {
+        final int index = position - 1;
+        if (isBlack) {
+            return isKing ? BLACK_KINGS[index] : BLACK_MEN[index];
+        } else {
+            return isKing ? WHITE_KINGS[index] : WHITE_MEN[index];
+        }
+    }
+
+    static long getSideToMoveKey(PieceColor sideToMove) {
+        return sideToMove == PieceColor.WHITE ? WHITE_TO_MOVE : 0L;
+    }
+
+    private ZobristKeys() {
+    }
+}
@@ -1,6 +1,7 @@
 package model.ai.evaluation;
 
 import model.Board;
+import model.BoardTopology;
 import model.PieceColor;
 
 public class BackRowCountEvaluator extends BoardEvaluator {
@@ -14,30 +15,17 @@ public class BackRowCountEvaluator extends BoardEvaluator {
 
     @Override
     public double evaluateBoard(Board theBoard, PieceColor color) {
-        double value = 0.0;
-
-        for (int i = 1; i <= 4; i++) {
-
-            // if black piece is on black edge of board
-            if (theBoard.getPiece(i).getColor() == PieceColor.BLACK) {
-                if (color == PieceColor.BLACK) {
-                    value += 1.0;
-                } else {
-                    value -= 1.0;
-                }
-            }
-        }
-
-        for (int i = 29; i <= 32; i++) {
-
-            // if white piece is on white edge of board
-            if (theBoard.getPiece(i).getColor() == PieceColor.WHITE) {
-                if (color == PieceColor.WHITE) {
-                    value += 1.0;
-                } else {
-                    value -= 1.0;
-                }
-            }
+        // black pieces on the black edge of the board, white pieces on the white edge
+        int blackBackRowCount = Integer.bitCount(theBoard.getPieceMask(PieceColor.BLACK)
+                & BoardTopology.BLACK_BACK_ROW);
+        int whiteBackRowCount = Integer.bitCount(theBoard.getPieceMask(PieceColor.WHITE)
+                & BoardTopology.WHITE_BACK_ROW);
+
+        double value;
+        if (color == PieceColor.BLACK) {
+            value = blackBackRowCount - whiteBackRowCount;
+        } else {
+            value = whiteBackRowCount - blackBackRowCount;
         }
 
         return value * this.weight;
@@ -2,8 +2,6 @@ package model.ai.evaluation;
 
 import model.Board;
 import model.PieceColor;
-import model.PieceInterface;
-import model.Square;
 
 public class PawnCountEvaluator extends BoardEvaluator {
 
@@ -17,16 +15,8 @@ public class PawnCountEvaluator extends BoardEvaluator {
 
     @Override
     public double evaluateBoard(Board theBoard, PieceColor color) {
-        double value = 0.0;
-
-        for (Square square : theBoard.getGameState()) {
-            PieceInterface piece = square.getOccupyingPiece();
-            if (piece.getColor() == color) {
-                value += 1.0;
-            } else if (piece.getColor() == color.getOppositeColor()) {
-                value -= 1.0;
-            }
-        }
+        double value = theBoard.getNumberOfPieces(color)
+                - theBoard.getNumberOfPieces(color.getOppositeColor());
         return value * this.weight;
     }
 
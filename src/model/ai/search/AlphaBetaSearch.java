@@ -1,79 +1,766 @@
 package model.ai.search;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import model.Board;
+import model.MoveEncoding;
+import model.MoveGenerator;
 import model.MoveInterface;
 import model.PieceColor;
+import model.UndoRecord;
 import model.ai.evaluation.BoardEvaluatorInterface;
 
+/**
+ * Principal variation search in negamax form: every node is scored for its side to move. The
+ * first move of a node is searched with the full window and the others with a null window around
+ * alpha; a move that fails high there is searched again with the full window. The search is fail
+ * soft, so a node can return a score outside its window. The whole tree is walked on a single
+ * working board: each move is made, searched and unmade again. Each ply owns a
+ * {@link MovePicker} and an undo record, so a search allocates nothing per node once it is set
+ * up.
+ *
+ * Quiet moves that cause a cutoff are kept as killer moves for their ply and tried early in the
+ * sibling positions; they also raise the move's {@link HistoryTable} score, which orders the
+ * other quiet moves, and become the countermove of the move they answered. The share of cutoffs
+ * caused by the first move searched measures how good the ordering is.
+ *
+ * Results are kept in a {@link TranspositionTable}, which gives cutoffs for positions reached
+ * again, the move to try first, and enhanced transposition cutoffs (a move whose resulting
+ * position is already known to refute the window is not searched at all). Table cutoffs are only
+ * taken outside the principal variation, which is collected in a triangular array as the search
+ * goes.
+ *
+ * At the depth limit the search goes on with a quiescence search: as long as the side to move has
+ * a capture, the captures are searched, since one of them must be played and the position is not
+ * worth evaluating until they are over. A side with no capture stands pat on the evaluation.
+ *
+ * Forcing moves are extended within a budget per line: the only legal move of a position, and a
+ * capture that answers a capture, do not use up depth.
+ *
+ * Scores are integers: the evaluator's value times {@link #SCORE_SCALE}, rounded.
+ *
+ * {@link IterativeDeepeningSearch} drives this class one depth at a time, with a window and with
+ * time and node limits that stop the search early.
+ *
+ * With more than one thread and {@link ParallelMode#YOUNG_BROTHERS_WAIT} in the options, the tree
+ * is split over a fork/join pool by {@link YoungBrothersWaitSearch} instead. Its serial subtree
+ * searches are other instances, one for each thread of the pool, which share this search's tables;
+ * only the node count covers them.
+ */
 public class AlphaBetaSearch {
+    public static final int DEFAULT_TABLE_SIZE_MB = 16;
+    /** How many plies shallower ProbCut's predicting search is. */
+    public static final int PROBCUT_REDUCTION = 4;
+    public static final int SCORE_SCALE = 1000;
+
+    static final int INFINITE_SCORE = 1000000000;
+
+    private static final int CHECK_INTERVAL_MASK = 1023;
+    private static final int ETC_MIN_DEPTH = 3;
+    /** Futility margin per ply of depth left, a piece and a half. */
+    private static final int FUTILITY_MARGIN = 3 * SCORE_SCALE / 2;
+    private static final int FUTILITY_MAX_DEPTH = 2;
+    private static final int KILLERS_PER_PLY = 2;
+    private static final int LMR_FULL_DEPTH_MOVES = 3;
+    private static final int LMR_MIN_DEPTH = 3;
+    /** Every capture removes a piece, so no capture sequence is longer than this. */
+    private static final int MAX_CAPTURE_PLIES = 24;
+    private static final int NO_CUTOFF = Integer.MIN_VALUE;
+    /** How many standard deviations ProbCut's prediction must clear the window by. */
+    private static final double PROBCUT_CONFIDENCE = 1.5;
+    private static final int PROBCUT_MIN_DEPTH = 6;
+
+    /**
+     * Sorts captures by decreasing number of pieces captured, keeping generation order otherwise.
+     */
+    private static void sortByCapturedPieces(long[] captures, int numberOfCaptures) {
+        for (int i = 1; i < numberOfCaptures; i++) {
+            final long capture = captures[i];
+            final int captured = Integer.bitCount(MoveEncoding.getCapturedMask(capture));
+            int j = i;
+            while (j > 0 && Integer.bitCount(MoveEncoding.getCapturedMask(captures[j - 1]))
+                    < captured) {
+                captures[j] = captures[j - 1];
+                j--;
+            }
+            captures[j] = capture;
+        }
+    }
+
+    private Board board;
+    private long[][] captureLists;
+    private long captureExtensions;
+    private long cutoffs;
+    private long deadline;
     private int depthLimit;
+    private long[][] etcMoveLists;
     private BoardEvaluatorInterface evaluator;
+    private long firstMoveCutoffs;
+    private long futilityPrunes;
+    private HistoryTable historyTable;
+    private long[][] killerMoves;
+    private long lateMoveReductions;
+    private long lateMoveResearches;
+    private int[] lineExtensions;
+    private int maxDepth;
+    private int maxSearchPly;
+    private MovePicker[] movePickers;
+    private long nodeLimit;
+    private long nodes;
+    private SearchOptions options;
+    private long[] playedMoves;
     private PieceColor playerMakingMove;
-    private AlphaBetaSearchNode root;
+    private long probCutPrunes;
+    private long probCutTries;
+    private int[] pvLengths;
+    private long[][] pvTable;
+    private long quiescenceNodes;
+    /** Whether the root is a node inside a larger tree, which need not find a move. */
+    private boolean rootInsideTree;
+    private ThreadLocal<AlphaBetaSearch> serialSearches;
+    private long singleReplyExtensions;
+    private ForkJoinPool splitPool;
+    private Board startingState;
+    private volatile YoungBrothersWaitSearch splitSearch;
+    private AtomicBoolean stopSignal;
+    private volatile boolean stopRequested;
+    private boolean stopped;
+    private TranspositionTable.Entry tableEntry;
+    private TranspositionTable transpositionTable;
+    private UndoRecord[] undoRecords;
 
     public AlphaBetaSearch(Board startingState, PieceColor playerMakingMove,
             BoardEvaluatorInterface evaluator, int depthLimit) {
-        this.root = new AlphaBetaSearchNode(startingState, 0, playerMakingMove);
+        this(startingState, playerMakingMove, evaluator, depthLimit,
+                new TranspositionTable(DEFAULT_TABLE_SIZE_MB));
+    }
+
+    public AlphaBetaSearch(Board startingState, PieceColor playerMakingMove,
+            BoardEvaluatorInterface evaluator, int depthLimit,
+            TranspositionTable transpositionTable) {
+        this(startingState, playerMakingMove, evaluator, depthLimit, transpositionTable,
+                new SearchOptions());
+    }
+
+    /**
+     * @param depthLimit
+     *            depth of {@link #search()}, and the deepest {@link #searchRoot} can go
+     * @param transpositionTable
+     *            table to use; it may hold results from earlier searches
+     * @param options
+     *            which selective parts of the search to use
+     */
+    public AlphaBetaSearch(Board startingState, PieceColor playerMakingMove,
+            BoardEvaluatorInterface evaluator, int depthLimit,
+            TranspositionTable transpositionTable, SearchOptions options) {
+        this.startingState = startingState;
+        this.board = new Board(startingState);
+        this.board.setSideToMove(playerMakingMove);
         this.evaluator = evaluator;
         this.playerMakingMove = playerMakingMove;
         this.depthLimit = depthLimit;
+        this.maxDepth = depthLimit;
+        this.deadline = Long.MAX_VALUE;
+        this.nodeLimit = Long.MAX_VALUE;
+        this.transpositionTable = transpositionTable;
+        this.tableEntry = new TranspositionTable.Entry();
+        this.options = options;
+        // Extensions take a line past the depth limit, and quiescence search further still
+        this.maxSearchPly = depthLimit + options.getMaxExtensionsPerLine();
+        this.etcMoveLists = new long[this.maxSearchPly + 1][MoveGenerator.MAX_MOVES];
+        this.historyTable = new HistoryTable();
+        this.killerMoves = new long[this.maxSearchPly + 1][KILLERS_PER_PLY];
+        this.lineExtensions = new int[this.maxSearchPly + 1];
+        this.playedMoves = new long[this.maxSearchPly + 1];
+        this.movePickers = new MovePicker[this.maxSearchPly + 1];
+        for (int ply = 0; ply < this.movePickers.length; ply++) {
+            this.movePickers[ply] = new MovePicker();
+        }
+
+        final int maxPly = this.maxSearchPly + MAX_CAPTURE_PLIES;
+        this.captureLists = new long[maxPly + 1][MoveGenerator.MAX_MOVES];
+        this.pvLengths = new int[maxPly + 1];
+        this.pvTable = new long[maxPly + 1][maxPly + 1];
+        this.undoRecords = new UndoRecord[maxPly + 1];
+        for (int ply = 0; ply < this.undoRecords.length; ply++) {
+            this.undoRecords[ply] = new UndoRecord();
+        }
     }
 
     public MoveInterface alphaBetaSearch() {
-        double bestValue = this.maxValue(this.root, Double.NEGATIVE_INFINITY,
-                Double.POSITIVE_INFINITY);
-        return this.getBestMove(bestValue);
+        final SearchResult result = this.search();
+
+        if (result.getMove() == MoveEncoding.NO_MOVE) {
+            return null;
+        }
+        // Build the move on the caller's board so the returned move refers to it
+        return MoveEncoding.toMoveInterface(result.getMove(), this.startingState);
+    }
+
+    private void checkLimits() {
+        if (this.nodes >= this.nodeLimit || System.nanoTime() - this.deadline >= 0
+                || this.stopRequested || (this.stopSignal != null && this.stopSignal.get())) {
+            this.stopped = true;
+        }
     }
 
-    private double evaluate(Board theBoard, PieceColor color) {
-        return this.evaluator.evaluateBoard(theBoard, color);
+    /**
+     * Returns the evaluation for the side to move.
+     */
+    private int evaluate(PieceColor colorToMove) {
+        double value = this.evaluator.evaluateBoard(this.board, this.playerMakingMove);
+        long score = Math.round(value * SCORE_SCALE);
+        score = Math.max(-INFINITE_SCORE + 1, Math.min(INFINITE_SCORE - 1, score));
+        return (int) (colorToMove == this.playerMakingMove ? score : -score);
     }
 
-    private MoveInterface getBestMove(double bestValue) {
-        MoveInterface bestMove = null;
+    /**
+     * Looks up the position after each move. If one of them is stored deeply enough with a score
+     * that refutes the window, that score (for the side to move) is returned; otherwise
+     * {@link #NO_CUTOFF}.
+     */
+    private int findTranspositionCutoff(int ply, int depth, PieceColor colorToMove, int beta) {
+        final UndoRecord undo = this.undoRecords[ply];
+        final long[] moves = this.etcMoveLists[ply];
+        final int numberOfMoves = MoveGenerator.generateMoves(this.board, colorToMove, moves);
+
+        for (int i = 0; i < numberOfMoves; i++) {
+            this.board.makeMove(moves[i], undo);
+            final boolean found = this.transpositionTable.probe(this.board.getZobristKey(),
+                    this.tableEntry);
+            this.board.unmakeMove(undo);
+
+            // Only an upper bound for the side to move after the move can refute the window
+            if (!found || this.tableEntry.getDepth() < depth - 1
+                    || this.tableEntry.getBound() == TranspositionTable.BOUND_LOWER) {
+                continue;
+            }
+            final int score = -this.tableEntry.getScore();
+            if (score >= beta) {
+                return score;
+            }
+        }
+        return NO_CUTOFF;
+    }
+
+    /**
+     * Returns how many captures continuing an exchange were searched a ply deeper.
+     */
+    public long getCaptureExtensions() {
+        return this.captureExtensions;
+    }
+
+    /**
+     * Returns the number of beta cutoffs.
+     */
+    public long getCutoffs() {
+        return this.cutoffs;
+    }
+
+    /**
+     * Returns the percentage of cutoffs that the first move searched caused.
+     */
+    public double getFirstMoveCutoffRate() {
+        return this.cutoffs == 0 ? 0 : 100.0 * this.firstMoveCutoffs / this.cutoffs;
+    }
 
-        for (AlphaBetaSearchNode node : this.root.getChildren()) {
-            if (node != null && node.getValue() == bestValue) {
-                bestMove = node.getMoveThatGotToThisState();
+    public long getFutilityPrunes() {
+        return this.futilityPrunes;
+    }
+
+    public HistoryTable getHistoryTable() {
+        return this.historyTable;
+    }
+
+    /**
+     * Returns how many moves were searched with a reduced depth first.
+     */
+    public long getLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    /**
+     * Returns how many reduced moves beat alpha and were searched again at full depth.
+     */
+    public long getLateMoveResearches() {
+        return this.lateMoveResearches;
+    }
+
+    /**
+     * Returns the number of nodes searched, including quiescence nodes.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getProbCutPrunes() {
+        return this.probCutPrunes;
+    }
+
+    public long getProbCutTries() {
+        return this.probCutTries;
+    }
+
+    public long getQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
+    /**
+     * Returns the searches of the serial subtrees of a split search, one for each thread.
+     */
+    private ThreadLocal<AlphaBetaSearch> getSerialSearches() {
+        if (this.serialSearches == null) {
+            final AlphaBetaSearch owner = this;
+            this.serialSearches = new ThreadLocal<AlphaBetaSearch>() {
+                @Override
+                protected AlphaBetaSearch initialValue() {
+                    final AlphaBetaSearch search = new AlphaBetaSearch(owner.startingState,
+                            owner.playerMakingMove, owner.evaluator, owner.maxDepth,
+                            owner.transpositionTable, owner.options);
+                    search.setHistoryTable(owner.historyTable);
+                    return search;
+                }
+            };
+        }
+        return this.serialSearches;
+    }
+
+    /**
+     * Returns how many moves were searched a ply deeper for being the only legal move.
+     */
+    public long getSingleReplyExtensions() {
+        return this.singleReplyExtensions;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    /**
+     * Returns whether the first move picked at a node is its only legal move. Captures are
+     * forced, so a first move that is quiet means there are none; the picker has counted the
+     * captures, and the quiet moves are counted on masks, so nothing more is generated.
+     */
+    private boolean isOnlyMove(PieceColor colorToMove, long firstMove, MovePicker picker) {
+        if (MoveEncoding.isCapture(firstMove)) {
+            return picker.getNumberOfCaptures() == 1;
+        }
+        return MoveGenerator.countNonJumpMoves(this.board, colorToMove) == 1;
+    }
+
+    boolean isStopped() {
+        return this.stopped;
+    }
+
+    /**
+     * Scores the position for its side to move.
+     *
+     * @param ply
+     *            distance from the root
+     * @param depth
+     *            depth left to search; reductions can make it smaller than the plies left
+     * @return a score; at or below alpha it is an upper bound, at or above beta a lower bound
+     */
+    private int negamax(int ply, int depth, int alpha, int beta) {
+        if (depth <= 0 || ply >= this.maxSearchPly) {
+            return this.quiesce(ply, alpha, beta);
+        }
+        if ((++this.nodes & CHECK_INTERVAL_MASK) == 0) {
+            this.checkLimits();
+        }
+        this.pvLengths[ply] = ply;
+        final PieceColor colorToMove = (ply & 1) == 0 ? this.playerMakingMove
+                : this.playerMakingMove.getOppositeColor();
+        if (this.board.isEndState(colorToMove)) {
+            return this.evaluate(colorToMove);
+        }
+        // The root of a whole search is always searched in full, so that it has a best move
+        final boolean isPvNode = beta - alpha > 1 || (ply == 0 && !this.rootInsideTree);
+        final long key = this.board.getZobristKey();
+        long hashMove = MoveEncoding.NO_MOVE;
+
+        if (this.transpositionTable.probe(key, this.tableEntry)) {
+            hashMove = this.tableEntry.getMove();
+            if (!isPvNode && this.tableEntry.getDepth() >= depth) {
+                final int score = this.tableEntry.getScore();
+                final int bound = this.tableEntry.getBound();
+                if (bound == TranspositionTable.BOUND_EXACT
+                        || (bound == TranspositionTable.BOUND_LOWER && score >= beta)
+                        || (bound == TranspositionTable.BOUND_UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+        if (!isPvNode && depth >= ETC_MIN_DEPTH) {
+            final int cutoff = this.findTranspositionCutoff(ply, depth, colorToMove, beta);
+            if (cutoff != NO_CUTOFF) {
+                return cutoff;
+            }
+        }
+
+        // Captures are forced and sharp, so only prune where every move is quiet
+        if (!isPvNode && depth <= FUTILITY_MAX_DEPTH && this.options.isFutilityPruning()
+                && !MoveGenerator.hasJumpMove(this.board, colorToMove)) {
+            final int margin = FUTILITY_MARGIN * depth;
+            final int staticScore = this.evaluate(colorToMove);
+            if (staticScore + margin <= alpha) {
+                this.futilityPrunes++;
+                return staticScore + margin;
+            }
+        }
+        if (!isPvNode && depth >= PROBCUT_MIN_DEPTH && this.options.isProbCut()) {
+            final int cutoff = this.tryProbCut(ply, depth, alpha, beta);
+            if (this.stopped) {
+                return 0;
+            }
+            if (cutoff != NO_CUTOFF) {
+                return cutoff;
+            }
+            // The shallow search reused this ply's buffers
+            this.pvLengths[ply] = ply;
+        }
+
+        final long previousMove = ply > 0 ? this.playedMoves[ply - 1] : MoveEncoding.NO_MOVE;
+        final boolean canExtend = this.lineExtensions[ply] < this.options
+                .getMaxExtensionsPerLine();
+
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITE_SCORE;
+        long bestMove = MoveEncoding.NO_MOVE;
+        UndoRecord undo = this.undoRecords[ply];
+        MovePicker picker = this.movePickers[ply];
+        picker.reset(this.board, colorToMove, hashMove, this.killerMoves[ply],
+                this.historyTable.getCounterMove(colorToMove, previousMove), this.historyTable);
+        int movesSearched = 0;
+        long move;
+        while ((move = picker.nextMove()) != MoveEncoding.NO_MOVE) {
+            movesSearched++;
+
+            // A forced move, or a capture continuing an exchange, costs no depth
+            int extension = 0;
+            if (canExtend && movesSearched == 1 && this.options.isSingleReplyExtensions()
+                    && this.isOnlyMove(colorToMove, move, picker)) {
+                extension = 1;
+                this.singleReplyExtensions++;
+            } else if (canExtend && MoveEncoding.isCapture(move)
+                    && MoveEncoding.isCapture(previousMove) && this.options.isCaptureExtensions()) {
+                extension = 1;
+                this.captureExtensions++;
+            }
+            this.board.makeMove(move, undo);
+            this.playedMoves[ply] = move;
+            this.lineExtensions[ply + 1] = this.lineExtensions[ply] + extension;
+            final int newDepth = depth - 1 + extension;
+
+            int score;
+            if (movesSearched == 1) {
+                score = -this.negamax(ply + 1, newDepth, -beta, -alpha);
+            } else {
+                int reduction = 0;
+                if (extension == 0 && depth >= LMR_MIN_DEPTH && movesSearched > LMR_FULL_DEPTH_MOVES
+                        && picker.isHistoryOrderedQuiet() && !MoveEncoding.isPromotion(move)
+                        && this.options.isLateMoveReductions()) {
+                    reduction = movesSearched > 2 * LMR_FULL_DEPTH_MOVES && depth > LMR_MIN_DEPTH
+                            ? 2 : 1;
+                    this.lateMoveReductions++;
+                }
+
+                // Later moves only need to be shown no better than alpha
+                score = -this.negamax(ply + 1, newDepth - reduction, -alpha - 1, -alpha);
+                if (reduction > 0 && score > alpha && !this.stopped) {
+                    this.lateMoveResearches++;
+                    score = -this.negamax(ply + 1, newDepth, -alpha - 1, -alpha);
+                }
+                if (score > alpha && score < beta && !this.stopped) {
+                    score = -this.negamax(ply + 1, newDepth, -beta, -alpha);
+                }
+            }
+            this.board.unmakeMove(undo);
+            if (this.stopped) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+            if (score > alpha) {
+                alpha = score;
+                this.updatePrincipalVariation(ply, move);
+            }
+            if (score >= beta) {
+                this.recordCutoff(ply, depth, colorToMove, move, movesSearched == 1);
+                this.transpositionTable.store(key, depth, TranspositionTable.BOUND_LOWER,
+                        bestScore, move);
+                return bestScore;
+            }
+        }
+
+        if (bestScore <= originalAlpha) {
+            this.transpositionTable.store(key, depth, TranspositionTable.BOUND_UPPER, bestScore,
+                    MoveEncoding.NO_MOVE);
+        } else {
+            this.transpositionTable.store(key, depth, TranspositionTable.BOUND_EXACT, bestScore,
+                    bestMove);
+        }
+        return bestScore;
+    }
+
+    /**
+     * Searches the captures of a position past the depth limit, most pieces captured first. A
+     * position without a capture is scored by its evaluation.
+     */
+    private int quiesce(int ply, int alpha, int beta) {
+        if ((++this.nodes & CHECK_INTERVAL_MASK) == 0) {
+            this.checkLimits();
+        }
+        this.quiescenceNodes++;
+        this.pvLengths[ply] = ply;
+        final PieceColor colorToMove = (ply & 1) == 0 ? this.playerMakingMove
+                : this.playerMakingMove.getOppositeColor();
+        final long[] captures = this.captureLists[ply];
+        final int numberOfCaptures = ply < this.captureLists.length - 1
+                ? MoveGenerator.generateJumpMoves(this.board, colorToMove, captures) : 0;
+        if (numberOfCaptures == 0) {
+            return this.evaluate(colorToMove);
+        }
+        sortByCapturedPieces(captures, numberOfCaptures);
+
+        // Captures are forced, so there is no standing pat on the evaluation here
+        int bestScore = -INFINITE_SCORE;
+        final UndoRecord undo = this.undoRecords[ply];
+        for (int i = 0; i < numberOfCaptures; i++) {
+            this.board.makeMove(captures[i], undo);
+            final int score = -this.quiesce(ply + 1, -beta, -alpha);
+            this.board.unmakeMove(undo);
+            if (this.stopped) {
+                return 0;
+            }
+
+            bestScore = Math.max(bestScore, score);
+            if (score > alpha) {
+                alpha = score;
+                this.updatePrincipalVariation(ply, captures[i]);
+            }
+            if (score >= beta) {
                 break;
             }
         }
-        return bestMove;
+        return bestScore;
+    }
+
+    private void recordCutoff(int ply, int depth, PieceColor color, long move,
+            boolean firstMove) {
+        this.cutoffs++;
+        if (firstMove) {
+            this.firstMoveCutoffs++;
+        }
+        if (!MoveEncoding.isCapture(move)) {
+            this.storeKiller(ply, move);
+            this.historyTable.recordCutoff(color, move, depth,
+                    ply > 0 ? this.playedMoves[ply - 1] : MoveEncoding.NO_MOVE);
+        }
     }
 
-    public double maxValue(AlphaBetaSearchNode node, double alpha, double beta) {
-        if (node.getDepthLevel() == this.depthLimit
-                || node.getBoard().isEndState(node.getCurrentPlayersColor())) {
-            double value = this.evaluate(node.getBoard(), this.playerMakingMove);
-            node.setValue(value);
-            return value;
+    /**
+     * Asks {@link #searchRoot} to give up as soon as it can. Unlike the other limits, this can be
+     * called from another thread while the search runs.
+     */
+    void requestStop() {
+        this.stopRequested = true;
+        final YoungBrothersWaitSearch split = this.splitSearch;
+        if (split != null) {
+            split.stop();
         }
-        node.setValue(Double.NEGATIVE_INFINITY);
-        for (AlphaBetaSearchNode childNode : node.getChildren()) {
-            node.setValue(Math.max(node.getValue(), this.minValue(childNode, alpha, beta)));
-            if (node.getValue() >= beta) {
-                return node.getValue();
+    }
+
+    /**
+     * Searches the root position to the depth given to the constructor.
+     *
+     * @return the result; its move is {@link MoveEncoding#NO_MOVE} if the player cannot move
+     */
+    public SearchResult search() {
+        this.transpositionTable.newSearch();
+        if (this.options.getThreads() == 1
+                || this.options.getParallelMode() != ParallelMode.YOUNG_BROTHERS_WAIT
+                || this.splitPool != null) {
+            return this.searchRoot(this.maxDepth, -INFINITE_SCORE, INFINITE_SCORE);
+        }
+        final ForkJoinPool pool = new ForkJoinPool(this.options.getThreads());
+        this.splitPool = pool;
+        try {
+            return this.searchRoot(this.maxDepth, -INFINITE_SCORE, INFINITE_SCORE);
+        } finally {
+            this.splitPool = null;
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Searches the root position to a depth within a window.
+     *
+     * @return the result, or {@code null} if the limits stopped the search first. A score at or
+     *         below alpha is an upper bound and one at or above beta a lower bound; after a fail
+     *         low there is no move.
+     */
+    SearchResult searchRoot(int depth, int alpha, int beta) {
+        this.depthLimit = Math.min(depth, this.maxDepth);
+        this.rootInsideTree = false;
+        if (this.splitPool != null) {
+            final YoungBrothersWaitSearch split = new YoungBrothersWaitSearch(
+                    this.transpositionTable, this.getSerialSearches(), this.deadline,
+                    this.nodeLimit - this.nodes);
+            this.splitSearch = split;
+            if (this.stopRequested) {
+                split.stop();
             }
-            alpha = Math.max(alpha, node.getValue());
+            final SearchResult result = split.search(this.splitPool, this.board,
+                    this.depthLimit, alpha, beta);
+            this.splitSearch = null;
+            this.nodes += split.getNodes();
+            this.stopped = result == null;
+            return result;
         }
-        return node.getValue();
+        final int score = this.negamax(0, this.depthLimit, alpha, beta);
+        if (this.stopped) {
+            return null;
+        }
+        final long[] principalVariation = Arrays.copyOf(this.pvTable[0], this.pvLengths[0]);
+        final long move = principalVariation.length > 0 ? principalVariation[0]
+                : MoveEncoding.NO_MOVE;
+        return new SearchResult(move, score, this.depthLimit, principalVariation);
+    }
+
+    /**
+     * Scores a position for its side to move as a node inside a larger search: unlike
+     * {@link #searchRoot}, a null window search of it takes table cutoffs and prunes at its root,
+     * so it finds no move.
+     *
+     * @return the score; meaningless once {@link #isStopped()}
+     */
+    int searchSubtree(int depth, int alpha, int beta) {
+        this.depthLimit = Math.min(depth, this.maxDepth);
+        this.rootInsideTree = true;
+        return this.negamax(0, this.depthLimit, alpha, beta);
+    }
+
+    /**
+     * Makes the search order quiet moves with a history table that outlives it.
+     */
+    void setHistoryTable(HistoryTable historyTable) {
+        this.historyTable = historyTable;
+    }
+
+    /**
+     * Sets when {@link #searchRoot} must give up.
+     *
+     * @param deadlineNanos
+     *            {@link System#nanoTime()} value to stop at
+     * @param maxNodes
+     *            number of nodes to stop at, counted over all searches of this instance
+     */
+    void setLimits(long deadlineNanos, long maxNodes) {
+        this.deadline = deadlineNanos;
+        this.nodeLimit = maxNodes;
     }
 
-    private double minValue(AlphaBetaSearchNode node, double alpha, double beta) {
-        if (node.getDepthLevel() == this.depthLimit
-                || node.getBoard().isEndState(node.getCurrentPlayersColor())) {
-            double value = this.evaluate(node.getBoard(), this.playerMakingMove);
-            node.setValue(value);
-            return value;
+    /**
+     * Moves the search to another position, with its side to move as the player making the move,
+     * and clears the stop so the search can go on.
+     */
+    void setPosition(Board position) {
+        this.board = new Board(position);
+        this.playerMakingMove = position.getSideToMove();
+        this.stopped = false;
+    }
+
+    /**
+     * Makes {@link #searchRoot} search with {@link YoungBrothersWaitSearch} on the pool, or
+     * serially if the pool is {@code null}.
+     */
+    void setSplitPool(ForkJoinPool splitPool) {
+        this.splitPool = splitPool;
+    }
+
+    /**
+     * Makes {@link #searchRoot} give up once another thread sets the signal.
+     */
+    void setStopSignal(AtomicBoolean stopSignal) {
+        this.stopSignal = stopSignal;
+    }
+
+    /**
+     * Returns a selectivity summary: how often each selective part of the search and each
+     * extension applied.
+     */
+    public String getSelectivityStatistics() {
+        return String.format("LMR %d (%d re-searched), futility %d, ProbCut %d of %d,"
+                + " extensions %d single reply and %d capture", this.lateMoveReductions,
+                this.lateMoveResearches, this.futilityPrunes, this.probCutPrunes,
+                this.probCutTries, this.singleReplyExtensions, this.captureExtensions);
+    }
+
+    private void storeKiller(int ply, long move) {
+        long[] killers = this.killerMoves[ply];
+        if (killers[0] == move) {
+            return;
+        }
+        System.arraycopy(killers, 0, killers, 1, killers.length - 1);
+        killers[0] = move;
+    }
+
+    /**
+     * Runs ProbCut at a node: a null-window search {@link #PROBCUT_REDUCTION} plies shallower,
+     * around the shallow score that predicts the deep search leaves the window.
+     *
+     * @return the predicted bound on the score, outside the window; or {@link #NO_CUTOFF}
+     */
+    private int tryProbCut(int ply, int depth, int alpha, int beta) {
+        final double slope = this.options.getProbCutSlope();
+        final double intercept = this.options.getProbCutIntercept();
+        final double margin = PROBCUT_CONFIDENCE * this.options.getProbCutDeviation();
+        final int shallowDepth = depth - PROBCUT_REDUCTION;
+
+        final long highBound = Math.round((beta + margin - intercept) / slope);
+        if (highBound < INFINITE_SCORE) {
+            this.probCutTries++;
+            final int bound = (int) highBound;
+            final int score = this.negamax(ply, shallowDepth, bound - 1, bound);
+            if (this.stopped) {
+                return NO_CUTOFF;
+            }
+            if (score >= bound) {
+                this.probCutPrunes++;
+                return (int) Math.max(beta, Math.round(slope * score + intercept - margin));
+            }
         }
-        node.setValue(Double.POSITIVE_INFINITY);
-        for (AlphaBetaSearchNode childNode : node.getChildren()) {
-            node.setValue(Math.min(node.getValue(), this.maxValue(childNode, alpha, beta)));
-            if (node.getValue() <= alpha) {
-                return node.getValue();
+        final long lowBound = Math.round((alpha - margin - intercept) / slope);
+        if (lowBound > -INFINITE_SCORE) {
+            this.probCutTries++;
+            final int bound = (int) lowBound;
+            final int score = this.negamax(ply, shallowDepth, bound, bound + 1);
+            if (this.stopped) {
+                return NO_CUTOFF;
+            }
+            if (score <= bound) {
+                this.probCutPrunes++;
+                return (int) Math.min(alpha, Math.round(slope * score + intercept + margin));
             }
-            beta = Math.min(beta, node.getValue());
         }
-        return node.getValue();
+        return NO_CUTOFF;
+    }
+
+    /**
+     * Makes a move followed by the child's principal variation the variation of a ply.
+     */
+    private void updatePrincipalVariation(int ply, long move) {
+        final long[] variation = this.pvTable[ply];
+        variation[ply] = move;
+        final int childLength = this.pvLengths[ply + 1];
+        System.arraycopy(this.pvTable[ply + 1], ply + 1, variation, ply + 1,
+                childLength - ply - 1);
+        this.pvLengths[ply] = childLength;
     }
 }
@@ -0,0 +1,150 @@
+package model.ai.search;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.Board;
+import model.PieceColor;
+import model.ai.evaluation.BoardEvaluatorInterface;
+
+/**
+ * A search session that lasts for a game, or for several: it owns the evaluator, the
+ * transposition table, the history table and the threads its searches run on, so nothing is built
+ * again from one move to the next. Each move's search starts from the transposition table the
+ * earlier ones filled, and from their history table with its scores halved, so that what the new
+ * move learns soon outweighs it; {@link SearchOptions#setHistoryAging(boolean)} clears the
+ * history for each move instead. {@link #newGame()} forgets what was learnt, for a game that has
+ * nothing to do with the last.
+ *
+ * An engine runs one search at a time: several players can share one as long as they take turns,
+ * and a search started while another one runs, a pondering search included, throws an
+ * {@link IllegalStateException}. The threads are made when a search first needs them, with the
+ * number of threads in the options at that time, and last until {@link #shutdown()}.
+ */
+public final class Engine {
+    private final BoardEvaluatorInterface evaluator;
+    private ExecutorService helperThreads;
+    private final AtomicBoolean searching;
+    private final HistoryTable historyTable;
+    private final SearchOptions options;
+    private ForkJoinPool splitPool;
+    private final TranspositionTable transpositionTable;
+
+    /**
+     * @param tableSizeMegabytes
+     *            size of the transposition table
+     * @param options
+     *            options of every search; changes to them apply to the searches created after
+     */
+    public Engine(BoardEvaluatorInterface evaluator, int tableSizeMegabytes,
+            SearchOptions options) {
+        this.evaluator = evaluator;
+        this.options = options;
+        this.transpositionTable = new TranspositionTable(tableSizeMegabytes);
+        this.historyTable = new HistoryTable();
+        this.searching = new AtomicBoolean();
+    }
+
+    /**
+     * Creates a search of a position that uses the engine's tables and threads.
+     */
+    public IterativeDeepeningSearch createSearch(Board board, PieceColor playerMakingMove) {
+        return new IterativeDeepeningSearch(board, playerMakingMove, this);
+    }
+
+    /**
+     * Marks the engine's search as over.
+     */
+    void finishSearch() {
+        this.searching.set(false);
+    }
+
+    public BoardEvaluatorInterface getEvaluator() {
+        return this.evaluator;
+    }
+
+    /**
+     * Returns the threads for Lazy SMP helpers, making them on first use.
+     */
+    synchronized ExecutorService getHelperThreads() {
+        if (this.helperThreads == null) {
+            this.helperThreads = Executors.newFixedThreadPool(Math.max(this.options
+                    .getThreads() - 1, 1), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            // Idle helpers must not keep the program running
+                            final Thread thread = new Thread(runnable, "Search helper");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+        }
+        return this.helperThreads;
+    }
+
+    public HistoryTable getHistoryTable() {
+        return this.historyTable;
+    }
+
+    public SearchOptions getOptions() {
+        return this.options;
+    }
+
+    /**
+     * Returns the pool for Young Brothers Wait searches, making it on first use.
+     */
+    synchronized ForkJoinPool getSplitPool() {
+        if (this.splitPool == null) {
+            this.splitPool = new ForkJoinPool(this.options.getThreads());
+        }
+        return this.splitPool;
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    /**
+     * Returns whether one of the engine's searches is running.
+     */
+    public boolean isSearching() {
+        return this.searching.get();
+    }
+
+    /**
+     * Forgets everything learnt from earlier searches.
+     */
+    public void newGame() {
+        this.transpositionTable.clear();
+        this.historyTable.clear();
+    }
+
+    /**
+     * Stops the engine's threads once they are idle. Searches created afterwards make new ones.
+     */
+    public synchronized void shutdown() {
+        if (this.helperThreads != null) {
+            this.helperThreads.shutdown();
+            this.helperThreads = null;
+        }
+        if (this.splitPool != null) {
+            this.splitPool.shutdown();
+            this.splitPool = null;
+        }
+    }
+
+    /**
+     * Marks the engine as running a search.
+     *
+     * @throws IllegalStateException
+     *             if it already runs one
+     */
+    void startSearch() {
+        if (!this.searching.compareAndSet(false, true)) {
+            throw new IllegalStateException("The engine is already searching");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package model.ai.search;
+
+import java.util.Arrays;
+
+import model.MoveEncoding;
+import model.PieceColor;
+
+/**
+ * Remembers which quiet moves caused cutoffs, for ordering the quiet moves that are neither the
+ * hash move nor a killer. A move's history score is indexed by its side and its starting and
+ * ending squares, and grows by the square of the remaining depth with every cutoff, so cutoffs
+ * far from the leaves count most. The countermove of a move is the quiet move that last refuted
+ * it.
+ */
+public final class HistoryTable {
+    private static final int SQUARES = 32;
+    private static final int MAX_SCORE = 1 << 28;
+
+    private static int index(PieceColor color, long move) {
+        return (color.ordinal() * SQUARES + MoveEncoding.getStartingPosition(move) - 1) * SQUARES
+                + MoveEncoding.getEndingPosition(move) - 1;
+    }
+
+    private final long[] counterMoves = new long[2 * SQUARES * SQUARES];
+    private final int[] scores = new int[2 * SQUARES * SQUARES];
+
+    /**
+     * Halves every history score, keeping their order. An {@link Engine} does this before each
+     * move, so that what earlier moves learnt gives way to what the next one learns, and a cutoff
+     * that takes a score past its maximum does it so that scores cannot overflow.
+     */
+    public void age() {
+        for (int i = 0; i < this.scores.length; i++) {
+            this.scores[i] >>= 1;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(this.counterMoves, MoveEncoding.NO_MOVE);
+        Arrays.fill(this.scores, 0);
+    }
+
+    /**
+     * Returns the quiet move that last refuted a move, or {@link MoveEncoding#NO_MOVE}.
+     *
+     * @param color
+     *            the side replying to the move
+     * @param previousMove
+     *            the move being replied to
+     */
+    public long getCounterMove(PieceColor color, long previousMove) {
+        if (previousMove == MoveEncoding.NO_MOVE) {
+            return MoveEncoding.NO_MOVE;
+        }
+        return this.counterMoves[index(color, previousMove)];
+    }
+
+    public int getScore(PieceColor color, long move) {
+        return this.scores[index(color, move)];
+    }
+
+    /**
+     * Records a quiet move that caused a cutoff.
+     *
+     * @param color
+     *            the side that made the move
+     * @param remainingDepth
+     *            depth left below the position the move was made in
+     * @param previousMove
+     *            the move that led to that position, or {@link MoveEncoding#NO_MOVE}
+     */
+    public void recordCutoff(PieceColor color, long move, int remainingDepth,
+            long previousMove) {
+        final int index = index(color, move);
+        this.scores[index] += remainingDepth * remainingDepth;
+        if (this.scores[index] > MAX_SCORE) {
+            this.age();
+        }
+        if (previousMove != MoveEncoding.NO_MOVE) {
+            this.counterMoves[index(color, previousMove)] = move;
+        }
+    }
+}
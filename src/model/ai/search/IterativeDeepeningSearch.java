@@ -0,0 +1,374 @@
+package model.ai.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import model.Board;
+import model.MoveEncoding;
+import model.MoveGenerator;
+import model.MoveInterface;
+import model.PieceColor;
+import model.ai.evaluation.BoardEvaluatorInterface;
+
+/**
+ * Runs {@link AlphaBetaSearch} at depth 1, 2, 3, ... until a {@link SearchLimits} budget runs
+ * out, and plays the best move of the last iteration that completed. Each iteration starts from
+ * the transposition table filled by the previous ones, so it tries the previous best moves first.
+ *
+ * From depth 2 on an iteration is searched by the {@link SearchDriver} of the options: either
+ * in an aspiration window around the previous score, searched again with a full window if the
+ * score falls outside it, or by MTD(f) with the previous score as its first guess. When only one
+ * move is legal it is played without searching.
+ *
+ * With more than one thread in the options the search is by default a Lazy SMP search: helper
+ * threads run their own iterative deepening from the root, with no coordination beyond the
+ * shared transposition table, until the main thread is done. Every other helper searches each
+ * iteration a ply deeper, so the threads spread over different depths. Only the main thread's
+ * result is played, and only the main thread counts towards the node limit. With
+ * {@link ParallelMode#YOUNG_BROTHERS_WAIT} instead, each root search is split over a fork/join
+ * pool with that many threads.
+ */
+public class IterativeDeepeningSearch {
+    /** Half-width of the aspiration window, in search score units. */
+    public static final int ASPIRATION_WINDOW = AlphaBetaSearch.SCORE_SCALE / 2;
+
+    /**
+     * Waits for stopped helper threads and returns the nodes they searched.
+     */
+    private static long joinHelpers(List<Future<Long>> helpers) {
+        long nodes = 0;
+        boolean interrupted = false;
+        for (final Future<Long> helper : helpers) {
+            while (true) {
+                try {
+                    nodes += helper.get();
+                    break;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    throw new IllegalStateException("Helper search failed", e.getCause());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return nodes;
+    }
+
+    private static long toNanos(long millis) {
+        return millis >= SearchLimits.UNLIMITED / 1000000 ? SearchLimits.UNLIMITED / 2
+                : millis * 1000000;
+    }
+
+    private volatile AlphaBetaSearch activeSearch;
+    private final Engine engine;
+    private final BoardEvaluatorInterface evaluator;
+    private double firstMoveCutoffRate;
+    private long nodes;
+    private final SearchOptions options;
+    private final PieceColor playerMakingMove;
+    private int researches;
+    private SearchResult result;
+    private String selectivityStatistics;
+    private final Board startingState;
+    private volatile boolean stopRequested;
+    private final TranspositionTable transpositionTable;
+
+    public IterativeDeepeningSearch(Board startingState, PieceColor playerMakingMove,
+            BoardEvaluatorInterface evaluator, TranspositionTable transpositionTable) {
+        this(startingState, playerMakingMove, evaluator, transpositionTable,
+                new SearchOptions());
+    }
+
+    public IterativeDeepeningSearch(Board startingState, PieceColor playerMakingMove,
+            BoardEvaluatorInterface evaluator, TranspositionTable transpositionTable,
+            SearchOptions options) {
+        this.startingState = startingState;
+        this.playerMakingMove = playerMakingMove;
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        this.options = options;
+        this.engine = null;
+    }
+
+    /**
+     * Creates a search that uses the tables and threads of an engine, rather than making its
+     * own history table and threads for each call to {@link #search}.
+     */
+    IterativeDeepeningSearch(Board startingState, PieceColor playerMakingMove, Engine engine) {
+        this.startingState = startingState;
+        this.playerMakingMove = playerMakingMove;
+        this.evaluator = engine.getEvaluator();
+        this.transpositionTable = engine.getTranspositionTable();
+        this.options = engine.getOptions();
+        this.engine = engine;
+    }
+
+    /**
+     * Creates a helper for a Lazy SMP search, which searches with a full window at each depth
+     * until it is stopped.
+     *
+     * @param depthOffset
+     *            how many plies deeper than the main thread each iteration is searched
+     * @return a task returning the helper's node count
+     */
+    private Callable<Long> createHelper(final int maxDepth, final int depthOffset,
+            final AtomicBoolean stopSignal) {
+        return new Callable<Long>() {
+            @Override
+            public Long call() {
+                final IterativeDeepeningSearch outer = IterativeDeepeningSearch.this;
+                final int helperMaxDepth = Math.min(maxDepth + depthOffset,
+                        SearchLimits.MAX_DEPTH);
+                final AlphaBetaSearch search = new AlphaBetaSearch(outer.startingState,
+                        outer.playerMakingMove, outer.evaluator, helperMaxDepth,
+                        outer.transpositionTable, outer.options);
+                search.setStopSignal(stopSignal);
+                for (int depth = 1 + depthOffset; depth <= helperMaxDepth; depth++) {
+                    if (search.searchRoot(depth, -AlphaBetaSearch.INFINITE_SCORE,
+                            AlphaBetaSearch.INFINITE_SCORE) == null) {
+                        break;
+                    }
+                }
+                return search.getNodes();
+            }
+        };
+    }
+
+    /**
+     * Returns the depth of the last completed iteration, or 0 if the move was not searched.
+     */
+    public int getCompletedDepth() {
+        return this.result == null ? 0 : this.result.getDepth();
+    }
+
+    /**
+     * @see AlphaBetaSearch#getFirstMoveCutoffRate()
+     */
+    public double getFirstMoveCutoffRate() {
+        return this.firstMoveCutoffRate;
+    }
+
+    /**
+     * Returns the nodes searched by all threads.
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Returns how many root searches were needed beyond one per iteration: aspiration windows
+     * that failed, or MTD(f) passes after the first.
+     */
+    public int getResearches() {
+        return this.researches;
+    }
+
+    /**
+     * Returns the result of the last completed iteration. When only one move was legal, the
+     * result has that move, a depth of 0 and a score of 0.
+     */
+    public SearchResult getResult() {
+        return this.result;
+    }
+
+    /**
+     * @see AlphaBetaSearch#getSelectivityStatistics()
+     */
+    public String getSelectivityStatistics() {
+        return this.selectivityStatistics;
+    }
+
+    /**
+     * Searches for the best move within the limits. The first iteration always completes, so a
+     * move is found however small the budget.
+     *
+     * @return the move, or {@code null} if the player has no legal move
+     * @throws IllegalStateException
+     *             if another search of the same {@link Engine} is running
+     */
+    public MoveInterface search(SearchLimits limits) {
+        if (this.engine == null) {
+            return this.searchPosition(limits);
+        }
+        this.engine.startSearch();
+        try {
+            return this.searchPosition(limits);
+        } finally {
+            this.engine.finishSearch();
+        }
+    }
+
+    /**
+     * Searches an iteration in a window around the previous score, and again with a full window
+     * if the score falls outside it.
+     *
+     * @return the result, or {@code null} if the search was stopped
+     */
+    private SearchResult searchAspirationWindow(AlphaBetaSearch search, int depth, int guess) {
+        final int alpha = guess - ASPIRATION_WINDOW;
+        final int beta = guess + ASPIRATION_WINDOW;
+        final SearchResult iteration = search.searchRoot(depth, alpha, beta);
+        if (iteration != null && (iteration.getScore() <= alpha || iteration.getScore() >= beta)) {
+            this.researches++;
+            return search.searchRoot(depth, -AlphaBetaSearch.INFINITE_SCORE,
+                    AlphaBetaSearch.INFINITE_SCORE);
+        }
+        return iteration;
+    }
+
+    /**
+     * Searches an iteration with MTD(f): null-window searches that move towards the score until
+     * the lower and upper bounds on it meet.
+     *
+     * @return the result, or {@code null} if the search was stopped
+     */
+    private SearchResult searchMtdf(AlphaBetaSearch search, int depth, int guess) {
+        int lowerBound = -AlphaBetaSearch.INFINITE_SCORE;
+        int upperBound = AlphaBetaSearch.INFINITE_SCORE;
+        int score = guess;
+        SearchResult failHigh = null;
+        boolean firstPass = true;
+        while (lowerBound < upperBound) {
+            if (!firstPass) {
+                this.researches++;
+            }
+            firstPass = false;
+
+            final int beta = score == lowerBound ? score + 1 : score;
+            final SearchResult pass = search.searchRoot(depth, beta - 1, beta);
+            if (pass == null) {
+                return null;
+            }
+            score = pass.getScore();
+            if (score < beta) {
+                upperBound = score;
+            } else {
+                lowerBound = score;
+                failHigh = pass;
+            }
+        }
+        // The lower bound was last raised by a pass that failed high on the best move
+        return new SearchResult(failHigh.getMove(), score, depth,
+                failHigh.getPrincipalVariation());
+    }
+
+    private MoveInterface searchPosition(SearchLimits limits) {
+        final long startTime = System.nanoTime();
+        this.result = null;
+        this.firstMoveCutoffRate = 0;
+        this.nodes = 0;
+        this.researches = 0;
+        this.selectivityStatistics = "";
+
+        final long[] moves = MoveGenerator.generateMoves(this.startingState,
+                this.playerMakingMove);
+        if (moves.length == 0) {
+            return null;
+        }
+        if (moves.length == 1) {
+            this.result = new SearchResult(moves[0], 0, 0, new long[] { moves[0] });
+            return MoveEncoding.toMoveInterface(moves[0], this.startingState);
+        }
+
+        this.transpositionTable.newSearch();
+        final boolean lazySmp = this.options.getThreads() > 1
+                && this.options.getParallelMode() == ParallelMode.LAZY_SMP;
+        final boolean splitSearch = this.options.getThreads() > 1
+                && this.options.getParallelMode() == ParallelMode.YOUNG_BROTHERS_WAIT;
+        final AtomicBoolean stopSignal = new AtomicBoolean();
+        ExecutorService helperThreads = null;
+        if (lazySmp) {
+            helperThreads = this.engine != null ? this.engine.getHelperThreads() : Executors
+                    .newFixedThreadPool(this.options.getThreads() - 1);
+        }
+        final List<Future<Long>> helpers = new ArrayList<>();
+        for (int helper = 1; lazySmp && helper < this.options.getThreads(); helper++) {
+            helpers.add(helperThreads.submit(this.createHelper(limits.getMaxDepth(), helper % 2,
+                    stopSignal)));
+        }
+
+        final AlphaBetaSearch search = new AlphaBetaSearch(this.startingState,
+                this.playerMakingMove, this.evaluator, limits.getMaxDepth(),
+                this.transpositionTable, this.options);
+        ForkJoinPool splitPool = null;
+        if (splitSearch) {
+            splitPool = this.engine != null ? this.engine.getSplitPool() : new ForkJoinPool(
+                    this.options.getThreads());
+        }
+        search.setSplitPool(splitPool);
+        if (this.engine != null) {
+            // What earlier moves learnt gives way to what this one learns
+            if (this.options.isHistoryAging()) {
+                this.engine.getHistoryTable().age();
+            } else {
+                this.engine.getHistoryTable().clear();
+            }
+            search.setHistoryTable(this.engine.getHistoryTable());
+        }
+        long helperNodes = 0;
+        try {
+            for (int depth = 1; depth <= limits.getMaxDepth(); depth++) {
+                SearchResult iteration;
+                if (depth == 1) {
+                    iteration = search.searchRoot(depth, -AlphaBetaSearch.INFINITE_SCORE,
+                            AlphaBetaSearch.INFINITE_SCORE);
+                    search.setLimits(startTime + toNanos(limits.getTimeLimitMillis()),
+                            limits.getMaxNodes());
+                    this.activeSearch = search;
+                    if (this.stopRequested) {
+                        search.requestStop();
+                    }
+                } else if (this.options.getDriver() == SearchDriver.MTDF) {
+                    iteration = this.searchMtdf(search, depth, this.result.getScore());
+                } else {
+                    iteration = this.searchAspirationWindow(search, depth,
+                            this.result.getScore());
+                }
+                if (iteration == null) {
+                    break;
+                }
+                this.result = iteration;
+            }
+        } finally {
+            this.activeSearch = null;
+            this.stopRequested = false;
+            // Helpers only stop when told to, so tell them even if the main search fails
+            stopSignal.set(true);
+            helperNodes = joinHelpers(helpers);
+            // An engine's threads outlive the search
+            if (helperThreads != null && this.engine == null) {
+                helperThreads.shutdown();
+            }
+            if (splitPool != null && this.engine == null) {
+                splitPool.shutdown();
+            }
+        }
+        this.nodes = search.getNodes() + helperNodes;
+        this.firstMoveCutoffRate = search.getFirstMoveCutoffRate();
+        this.selectivityStatistics = search.getSelectivityStatistics();
+
+        return MoveEncoding.toMoveInterface(this.result.getMove(), this.startingState);
+    }
+
+    /**
+     * Makes the search return the result of its last completed iteration as soon as it can. It
+     * can be called from any thread: it stops the search in progress, or the next one if none is
+     * running. The first iteration still always completes.
+     */
+    public void stop() {
+        this.stopRequested = true;
+        final AlphaBetaSearch search = this.activeSearch;
+        if (search != null) {
+            search.requestStop();
+        }
+    }
+}
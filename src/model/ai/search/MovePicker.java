@@ -0,0 +1,219 @@
+package model.ai.search;
+
+import model.Board;
+import model.MoveEncoding;
+import model.MoveGenerator;
+import model.PieceColor;
+
+/**
+ * Hands out the moves of a position one at a time and only generates each group of moves when
+ * the search asks for it, so a cutoff on an early move skips the rest of the work. The order is:
+ * <ol>
+ * <li>the hash move, if it is legal here</li>
+ * <li>captures; these are forced, so when there are any no other moves follow</li>
+ * <li>killer moves that are legal here</li>
+ * <li>the countermove of the previous move, if it is legal here</li>
+ * <li>the remaining quiet moves, highest {@link HistoryTable} score first</li>
+ * </ol>
+ * No move is returned twice. A picker owns its move buffer and is reset for every node at its ply.
+ */
+public final class MovePicker {
+    private static final int STAGE_HASH_MOVE = 0;
+    private static final int STAGE_GENERATE_CAPTURES = 1;
+    private static final int STAGE_CAPTURES = 2;
+    private static final int STAGE_KILLERS = 3;
+    private static final int STAGE_COUNTER_MOVE = 4;
+    private static final int STAGE_GENERATE_QUIETS = 5;
+    private static final int STAGE_QUIETS = 6;
+    private static final int STAGE_DONE = 7;
+
+    private Board board;
+    private boolean capturesGenerated;
+    private PieceColor color;
+    private long counterMove;
+    private long hashMove;
+    private HistoryTable history;
+    private int index;
+    private long[] killers;
+    private final long[] moves = new long[MoveGenerator.MAX_MOVES];
+    private int numberOfMoves;
+    private final int[] scores = new int[MoveGenerator.MAX_MOVES];
+    private int stage = STAGE_DONE;
+
+    /**
+     * Returns how many captures the position has. Only meaningful once a capture was picked: with
+     * any captures there are no other moves, so the count stays until the next reset.
+     */
+    int getNumberOfCaptures() {
+        return this.numberOfMoves;
+    }
+
+    /**
+     * Returns whether the last move picked is one of the quiet moves ordered by history, rather
+     * than a capture, the hash move, a killer or the countermove.
+     */
+    boolean isHistoryOrderedQuiet() {
+        return this.stage == STAGE_QUIETS;
+    }
+
+    private boolean isKiller(long move) {
+        for (final long killer : this.killers) {
+            if (killer == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isLegalHashMove() {
+        if (MoveEncoding.isCapture(this.hashMove)) {
+            // Captures are needed next anyway, so check the hash move against them
+            this.numberOfMoves = MoveGenerator.generateJumpMoves(this.board, this.color,
+                    this.moves);
+            this.capturesGenerated = true;
+            for (int i = 0; i < this.numberOfMoves; i++) {
+                if (this.moves[i] == this.hashMove) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return MoveGenerator.isValidNonJumpMove(this.board, this.color, this.hashMove)
+                && !MoveGenerator.hasJumpMove(this.board, this.color);
+    }
+
+    /**
+     * Returns the next move to search, or {@link MoveEncoding#NO_MOVE} when there are none left.
+     */
+    public long nextMove() {
+        while (true) {
+            switch (this.stage) {
+            case STAGE_HASH_MOVE:
+                this.stage = STAGE_GENERATE_CAPTURES;
+                if (this.hashMove != MoveEncoding.NO_MOVE && this.isLegalHashMove()) {
+                    return this.hashMove;
+                }
+                break;
+            case STAGE_GENERATE_CAPTURES:
+                if (!this.capturesGenerated) {
+                    this.numberOfMoves = MoveGenerator.generateJumpMoves(this.board, this.color,
+                            this.moves);
+                }
+                this.index = 0;
+                this.stage = STAGE_CAPTURES;
+                break;
+            case STAGE_CAPTURES:
+                while (this.index < this.numberOfMoves) {
+                    final long move = this.moves[this.index++];
+                    if (move != this.hashMove) {
+                        return move;
+                    }
+                }
+                this.index = 0;
+                this.stage = this.numberOfMoves > 0 ? STAGE_DONE : STAGE_KILLERS;
+                break;
+            case STAGE_KILLERS:
+                while (this.index < this.killers.length) {
+                    final long killer = this.killers[this.index++];
+                    if (killer != this.hashMove
+                            && MoveGenerator.isValidNonJumpMove(this.board, this.color, killer)) {
+                        return killer;
+                    }
+                }
+                this.stage = STAGE_COUNTER_MOVE;
+                break;
+            case STAGE_COUNTER_MOVE:
+                this.stage = STAGE_GENERATE_QUIETS;
+                if (this.counterMove != MoveEncoding.NO_MOVE && this.counterMove != this.hashMove
+                        && !this.isKiller(this.counterMove) && MoveGenerator
+                                .isValidNonJumpMove(this.board, this.color, this.counterMove)) {
+                    return this.counterMove;
+                }
+                break;
+            case STAGE_GENERATE_QUIETS:
+                this.numberOfMoves = MoveGenerator.generateNonJumpMoves(this.board, this.color,
+                        this.moves);
+                if (this.history != null) {
+                    this.sortByHistory();
+                }
+                this.index = 0;
+                this.stage = STAGE_QUIETS;
+                break;
+            case STAGE_QUIETS:
+                while (this.index < this.numberOfMoves) {
+                    final long move = this.moves[this.index++];
+                    if (move != this.hashMove && move != this.counterMove
+                            && !this.isKiller(move)) {
+                        return move;
+                    }
+                }
+                this.stage = STAGE_DONE;
+                break;
+            default:
+                return MoveEncoding.NO_MOVE;
+            }
+        }
+    }
+
+    /**
+     * Starts picking moves for a new position, with no countermove and the quiet moves in
+     * generation order.
+     *
+     * @see #reset(Board, PieceColor, long, long[], long, HistoryTable)
+     */
+    public void reset(Board theBoard, PieceColor playersColor, long theHashMove,
+            long[] theKillers) {
+        this.reset(theBoard, playersColor, theHashMove, theKillers, MoveEncoding.NO_MOVE, null);
+    }
+
+    /**
+     * Starts picking moves for a new position.
+     *
+     * @param theBoard
+     *            the board to pick moves on; it must not change until the last move is picked
+     *            other than by making and unmaking the picked moves
+     * @param playersColor
+     *            the player to move
+     * @param theHashMove
+     *            a move to try first, or {@link MoveEncoding#NO_MOVE}
+     * @param theKillers
+     *            quiet moves to try before the other quiet moves; {@link MoveEncoding#NO_MOVE}
+     *            entries are skipped. The array is read, not copied.
+     * @param theCounterMove
+     *            a quiet move to try after the killers, or {@link MoveEncoding#NO_MOVE}
+     * @param theHistory
+     *            scores to order the other quiet moves by, or {@code null} for generation order
+     */
+    public void reset(Board theBoard, PieceColor playersColor, long theHashMove,
+            long[] theKillers, long theCounterMove, HistoryTable theHistory) {
+        this.board = theBoard;
+        this.color = playersColor;
+        this.hashMove = theHashMove;
+        this.killers = theKillers;
+        this.counterMove = theCounterMove;
+        this.history = theHistory;
+        this.capturesGenerated = false;
+        this.numberOfMoves = 0;
+        this.index = 0;
+        this.stage = STAGE_HASH_MOVE;
+    }
+
+    /**
+     * Sorts the quiet moves by decreasing history score. Insertion sort keeps moves with equal
+     * scores in generation order and is quick on lists this short.
+     */
+    private void sortByHistory() {
+        for (int i = 0; i < this.numberOfMoves; i++) {
+            final long move = this.moves[i];
+            final int score = this.history.getScore(this.color, move);
+            int j = i;
+            while (j > 0 && this.scores[j - 1] < score) {
+                this.moves[j] = this.moves[j - 1];
+                this.scores[j] = this.scores[j - 1];
+                j--;
+            }
+            this.moves[j] = move;
+            this.scores[j] = score;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package model.ai.search;
+
+/**
+ * How a search with more than one thread spreads the work over them.
+ */
+public enum ParallelMode {
+    /**
+     * Lazy SMP: helper threads search the whole tree on their own and help the main thread only
+     * through the shared transposition table.
+     */
+    LAZY_SMP,
+
+    /**
+     * Young Brothers Wait: a node's first move is searched alone to set the bound, and its other
+     * moves are then searched in parallel on a fork/join pool. More deterministic than Lazy SMP,
+     * but the threads wait on each other at every split.
+     */
+    YOUNG_BROTHERS_WAIT
+}
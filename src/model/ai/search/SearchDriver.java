@@ -0,0 +1,19 @@
+package model.ai.search;
+
+/**
+ * How {@link IterativeDeepeningSearch} searches each iteration.
+ */
+public enum SearchDriver {
+    /**
+     * Principal variation search in an aspiration window around the previous score, searched
+     * again with a full window if the score falls outside it.
+     */
+    PVS,
+
+    /**
+     * MTD(f): a series of null-window searches that narrows the bounds on the score until they
+     * meet, starting from the previous score as the guess. It relies on the transposition table
+     * to make the repeated searches cheap.
+     */
+    MTDF
+}
@@ -0,0 +1,67 @@
+package model.ai.search;
+
+/**
+ * When an {@link IterativeDeepeningSearch} stops deepening: at a maximum depth, after a time
+ * budget, or after a number of nodes, whichever comes first.
+ */
+public final class SearchLimits {
+    /** Deepest iteration a search will run. */
+    public static final int MAX_DEPTH = 64;
+    /** Time or node budget that is never reached. */
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    /**
+     * Limits the search to a depth only.
+     */
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * Limits the search to a number of nodes only.
+     */
+    public static SearchLimits nodes(long maxNodes) {
+        return new SearchLimits(MAX_DEPTH, UNLIMITED, maxNodes);
+    }
+
+    /**
+     * Limits the search to a wall-clock budget only.
+     */
+    public static SearchLimits time(long timeLimitMillis) {
+        return new SearchLimits(MAX_DEPTH, timeLimitMillis, UNLIMITED);
+    }
+
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long timeLimitMillis;
+
+    /**
+     * @param maxDepth
+     *            deepest iteration, from 1 to {@link #MAX_DEPTH}
+     * @param timeLimitMillis
+     *            wall-clock budget, or {@link #UNLIMITED}
+     * @param maxNodes
+     *            node budget, or {@link #UNLIMITED}
+     */
+    public SearchLimits(int maxDepth, long timeLimitMillis, long maxNodes) {
+        if (maxDepth < 1 || maxDepth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be from 1 to " + MAX_DEPTH + ": "
+                    + maxDepth);
+        }
+        this.maxDepth = maxDepth;
+        this.timeLimitMillis = timeLimitMillis;
+        this.maxNodes = maxNodes;
+    }
+
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    public long getTimeLimitMillis() {
+        return this.timeLimitMillis;
+    }
+}
@@ -0,0 +1,187 @@
+package model.ai.search;
+
+/**
+ * Switches for the selective parts of {@link AlphaBetaSearch}, which are all on by default:
+ * <ul>
+ * <li>late move reductions: quiet moves ordered after the hash move, killers and countermove
+ * are searched less deeply at first, and again at full depth if they beat alpha</li>
+ * <li>futility pruning: a quiet node near the leaves whose evaluation is too far below alpha to
+ * catch up is not searched</li>
+ * <li>ProbCut: a shallow search predicts whether a deep one would fail high or low</li>
+ * <li>single reply extensions: the only legal move of a position is searched a ply deeper</li>
+ * <li>capture extensions: a capture answering a capture is searched a ply deeper</li>
+ * </ul>
+ * Extensions stop once a line has been extended {@link #getMaxExtensionsPerLine()} times. The
+ * options also choose the {@link SearchDriver} of an {@link IterativeDeepeningSearch}, which is
+ * {@link SearchDriver#PVS} by default, and how many threads a search uses (one by default) and
+ * how it spreads over them ({@link ParallelMode#LAZY_SMP} by default), and whether an
+ * {@link Engine} ages its history table between moves (the default) or clears it.
+ * ProbCut predicts the deep score as {@code slope * shallowScore + intercept}, with an error of
+ * the given standard deviation in search score units. The defaults were fitted by
+ * {@code controller.ProbCutCalibrator}.
+ */
+public final class SearchOptions {
+    public static final int DEFAULT_MAX_EXTENSIONS_PER_LINE = 8;
+    public static final double DEFAULT_PROBCUT_DEVIATION = 550;
+    public static final double DEFAULT_PROBCUT_INTERCEPT = -28;
+    public static final double DEFAULT_PROBCUT_SLOPE = 1.08;
+
+    /**
+     * Returns options with every selective part and extension switched off, for a plain
+     * full-width search to a fixed depth.
+     */
+    public static SearchOptions fullWidth() {
+        final SearchOptions options = new SearchOptions();
+        options.setCaptureExtensions(false);
+        options.setFutilityPruning(false);
+        options.setLateMoveReductions(false);
+        options.setProbCut(false);
+        options.setSingleReplyExtensions(false);
+        return options;
+    }
+
+    private boolean captureExtensions = true;
+    private SearchDriver driver = SearchDriver.PVS;
+    private boolean futilityPruning = true;
+    private boolean historyAging = true;
+    private boolean lateMoveReductions = true;
+    private int maxExtensionsPerLine = DEFAULT_MAX_EXTENSIONS_PER_LINE;
+    private ParallelMode parallelMode = ParallelMode.LAZY_SMP;
+    private boolean probCut = true;
+    private double probCutDeviation = DEFAULT_PROBCUT_DEVIATION;
+    private double probCutIntercept = DEFAULT_PROBCUT_INTERCEPT;
+    private double probCutSlope = DEFAULT_PROBCUT_SLOPE;
+    private boolean singleReplyExtensions = true;
+    private int threads = 1;
+
+    public SearchDriver getDriver() {
+        return this.driver;
+    }
+
+    /**
+     * Returns how many plies a line can be extended by in total.
+     */
+    public int getMaxExtensionsPerLine() {
+        return this.maxExtensionsPerLine;
+    }
+
+    public ParallelMode getParallelMode() {
+        return this.parallelMode;
+    }
+
+    public double getProbCutDeviation() {
+        return this.probCutDeviation;
+    }
+
+    public double getProbCutIntercept() {
+        return this.probCutIntercept;
+    }
+
+    public double getProbCutSlope() {
+        return this.probCutSlope;
+    }
+
+    /**
+     * Returns how many threads an {@link IterativeDeepeningSearch} searches with.
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public boolean isCaptureExtensions() {
+        return this.captureExtensions;
+    }
+
+    public boolean isFutilityPruning() {
+        return this.futilityPruning;
+    }
+
+    /**
+     * Returns whether an {@link Engine} keeps its history table from one move to the next,
+     * halving the scores before each move, rather than clearing it.
+     */
+    public boolean isHistoryAging() {
+        return this.historyAging;
+    }
+
+    public boolean isLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    public boolean isProbCut() {
+        return this.probCut;
+    }
+
+    public boolean isSingleReplyExtensions() {
+        return this.singleReplyExtensions;
+    }
+
+    public void setCaptureExtensions(boolean captureExtensions) {
+        this.captureExtensions = captureExtensions;
+    }
+
+    public void setDriver(SearchDriver driver) {
+        this.driver = driver;
+    }
+
+    public void setFutilityPruning(boolean futilityPruning) {
+        this.futilityPruning = futilityPruning;
+    }
+
+    public void setHistoryAging(boolean historyAging) {
+        this.historyAging = historyAging;
+    }
+
+    public void setLateMoveReductions(boolean lateMoveReductions) {
+        this.lateMoveReductions = lateMoveReductions;
+    }
+
+    /**
+     * Sets the extension budget of a line. Searches built with these options afterwards use it;
+     * 0 switches extensions off.
+     */
+    public void setMaxExtensionsPerLine(int maxExtensionsPerLine) {
+        if (maxExtensionsPerLine < 0) {
+            throw new IllegalArgumentException("Extension budget must not be negative: "
+                    + maxExtensionsPerLine);
+        }
+        this.maxExtensionsPerLine = maxExtensionsPerLine;
+    }
+
+    public void setParallelMode(ParallelMode parallelMode) {
+        this.parallelMode = parallelMode;
+    }
+
+    public void setProbCut(boolean probCut) {
+        this.probCut = probCut;
+    }
+
+    /**
+     * Sets the regression of deep search scores on shallow ones that ProbCut relies on.
+     *
+     * @param slope
+     *            a positive slope
+     */
+    public void setProbCutRegression(double slope, double intercept, double deviation) {
+        if (slope <= 0) {
+            throw new IllegalArgumentException("ProbCut slope must be positive: " + slope);
+        }
+        this.probCutSlope = slope;
+        this.probCutIntercept = intercept;
+        this.probCutDeviation = deviation;
+    }
+
+    public void setSingleReplyExtensions(boolean singleReplyExtensions) {
+        this.singleReplyExtensions = singleReplyExtensions;
+    }
+
+    /**
+     * Sets how many threads search: one, or one plus helpers that share its transposition table.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread must search: " + threads);
+        }
+        this.threads = threads;
+    }
+}
@@ -0,0 +1,60 @@
+package model.ai.search;
+
+import model.MoveEncoding;
+
+/**
+ * The outcome of searching a position to a depth: the best move, its score for the player
+ * making it, and the principal variation, the line both sides are expected to play.
+ */
+public final class SearchResult {
+    private final int depth;
+    private final long move;
+    private final long[] principalVariation;
+    private final int score;
+
+    /**
+     * @param move
+     *            encoded best move, or {@link MoveEncoding#NO_MOVE}
+     * @param principalVariation
+     *            encoded moves, starting with the best move; the array is not copied
+     */
+    public SearchResult(long move, int score, int depth, long[] principalVariation) {
+        this.move = move;
+        this.score = score;
+        this.depth = depth;
+        this.principalVariation = principalVariation;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Returns the encoded best move, or {@link MoveEncoding#NO_MOVE} if there is none.
+     */
+    public long getMove() {
+        return this.move;
+    }
+
+    /**
+     * Returns the encoded moves of the principal variation, starting with the best move.
+     */
+    public long[] getPrincipalVariation() {
+        return this.principalVariation.clone();
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("depth ").append(this.depth).append(", score ").append(this.score)
+                .append(", pv");
+        for (final long pvMove : this.principalVariation) {
+            builder.append(' ').append(MoveEncoding.toString(pvMove));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,222 @@
+package model.ai.search;
+
+import java.util.Arrays;
+
+import model.MoveEncoding;
+
+/**
+ * Fixed-size hash table of search results, indexed by the position's Zobrist key. The table has a
+ * power-of-two number of buckets, each with two entries: the first keeps the deepest result
+ * (replaced by a result at least as deep, or by any result once it is from an older search), the
+ * second takes whatever the first would not.
+ *
+ * An entry is three longs: a check word, the best move, and a data word holding the score, the
+ * depth searched, the bound type and the search it came from. Scores are from the point of view of
+ * the side to move in the entry's position, so a table can be shared by searches for either player
+ * as long as the evaluation is symmetric.
+ *
+ * The table can be shared by searches running on several threads without locking. The check word
+ * is the key XORed with the move and the data, so an entry torn by two threads storing at once no
+ * longer matches either key and is not found; a probe copies a matching entry into an
+ * {@link Entry} owned by the caller. The statistics are not synchronized and are only approximate
+ * while several threads use the table.
+ */
+public final class TranspositionTable {
+
+    /**
+     * A copy of a stored result, filled in by {@link TranspositionTable#probe(long, Entry)}.
+     */
+    public static final class Entry {
+        private long data;
+        private long move;
+
+        public int getBound() {
+            return (int) ((this.data >>> BOUND_SHIFT) & BOUND_MASK);
+        }
+
+        public int getDepth() {
+            return (int) ((this.data >>> DEPTH_SHIFT) & BYTE_MASK);
+        }
+
+        public long getMove() {
+            return this.move;
+        }
+
+        public int getScore() {
+            return (int) this.data;
+        }
+    }
+
+    /** The score is the exact value of the position. */
+    public static final int BOUND_EXACT = 0;
+    /** The value of the position is at least the score. */
+    public static final int BOUND_LOWER = 1;
+    /** The value of the position is at most the score. */
+    public static final int BOUND_UPPER = 2;
+
+    private static final int LONGS_PER_ENTRY = 3;
+    private static final int ENTRIES_PER_BUCKET = 2;
+    private static final int BYTES_PER_BUCKET = ENTRIES_PER_BUCKET * LONGS_PER_ENTRY * 8;
+
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int AGE_SHIFT = 42;
+    private static final long BYTE_MASK = 0xFF;
+    private static final long BOUND_MASK = 0x3;
+    private static final long OCCUPIED_FLAG = 1L << 63;
+
+    private int age;
+    private final int bucketMask;
+    private long collisions;
+    private final long[] entries;
+    private long hits;
+    private long probes;
+    private long stores;
+
+    public TranspositionTable(int megabytes) {
+        final long bytes = Math.max(1L, megabytes) << 20;
+        final int buckets = Integer.highestOneBit((int) Math.min(1 << 26,
+                bytes / BYTES_PER_BUCKET));
+        this.entries = new long[buckets * ENTRIES_PER_BUCKET * LONGS_PER_ENTRY];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * Empties the table and resets the statistics.
+     */
+    public void clear() {
+        Arrays.fill(this.entries, 0);
+        this.age = 0;
+        this.collisions = 0;
+        this.hits = 0;
+        this.probes = 0;
+        this.stores = 0;
+    }
+
+    private int firstEntry(long key) {
+        return ((int) key & this.bucketMask) * ENTRIES_PER_BUCKET * LONGS_PER_ENTRY;
+    }
+
+    private int getAge(int entry) {
+        return (int) ((this.entries[entry + 2] >>> AGE_SHIFT) & BYTE_MASK);
+    }
+
+    /**
+     * Returns how many stores overwrote an entry for a different position.
+     */
+    public long getCollisions() {
+        return this.collisions;
+    }
+
+    private int getDepth(int entry) {
+        return (int) ((this.entries[entry + 2] >>> DEPTH_SHIFT) & BYTE_MASK);
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    private long getKey(int entry) {
+        return this.entries[entry] ^ this.entries[entry + 1] ^ this.entries[entry + 2];
+    }
+
+    public int getNumberOfEntries() {
+        return this.entries.length / LONGS_PER_ENTRY;
+    }
+
+    public long getProbes() {
+        return this.probes;
+    }
+
+    public long getStores() {
+        return this.stores;
+    }
+
+    private boolean isOccupied(int entry) {
+        return (this.entries[entry + 2] & OCCUPIED_FLAG) != 0;
+    }
+
+    /**
+     * Marks the start of a new search, so that results from earlier searches give way to new
+     * ones in the depth-preferred entries.
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & (int) BYTE_MASK;
+    }
+
+    /**
+     * Looks a position up.
+     *
+     * @param result
+     *            filled in with the stored result if the position is found
+     * @return whether the position is in the table
+     */
+    public boolean probe(long key, Entry result) {
+        this.probes++;
+        final int first = this.firstEntry(key);
+        for (int entry = first; entry < first + ENTRIES_PER_BUCKET * LONGS_PER_ENTRY;
+                entry += LONGS_PER_ENTRY) {
+            // Read each word once, so that the words checked are the words returned
+            final long check = this.entries[entry];
+            final long move = this.entries[entry + 1];
+            final long data = this.entries[entry + 2];
+            if ((check ^ move ^ data) == key && (data & OCCUPIED_FLAG) != 0) {
+                this.hits++;
+                result.move = move;
+                result.data = data;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stores a search result.
+     *
+     * @param key
+     *            Zobrist key of the position
+     * @param depth
+     *            remaining depth the position was searched to
+     * @param bound
+     *            one of the {@code BOUND_} constants
+     * @param score
+     *            score for the side to move
+     * @param move
+     *            best move found, or {@code MoveEncoding.NO_MOVE}
+     */
+    public void store(long key, int depth, int bound, int score, long move) {
+        this.stores++;
+        final int deepEntry = this.firstEntry(key);
+        final int otherEntry = deepEntry + LONGS_PER_ENTRY;
+
+        int entry;
+        if (!this.isOccupied(deepEntry) || this.getKey(deepEntry) == key
+                || this.getAge(deepEntry) != this.age || depth >= this.getDepth(deepEntry)) {
+            entry = deepEntry;
+        } else {
+            entry = otherEntry;
+        }
+        final boolean samePosition = this.getKey(entry) == key;
+        if (this.isOccupied(entry) && !samePosition) {
+            this.collisions++;
+        }
+        // Keep the old best move if this result found none
+        final long storedMove = move == MoveEncoding.NO_MOVE && samePosition
+                ? this.entries[entry + 1] : move;
+        final long data = OCCUPIED_FLAG | ((long) this.age << AGE_SHIFT)
+                | ((long) bound << BOUND_SHIFT) | ((long) Math.min(depth, 255) << DEPTH_SHIFT)
+                | (score & 0xFFFFFFFFL);
+
+        this.entries[entry] = key ^ storedMove ^ data;
+        this.entries[entry + 1] = storedMove;
+        this.entries[entry + 2] = data;
+    }
+
+    @Override
+    public String toString() {
+        final double hitRate = this.probes == 0 ? 0 : 100.0 * this.hits / this.probes;
+        final double collisionRate = this.stores == 0 ? 0 : 100.0 * this.collisions / this.stores;
+        return String.format("%d entries, %d probes, %.1f%% hits, %d stores, %.1f%% collisions",
+                this.getNumberOfEntries(), this.probes, hitRate, this.stores, collisionRate);
+    }
+}
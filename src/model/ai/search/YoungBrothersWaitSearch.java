@@ -0,0 +1,301 @@
+package model.ai.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.Board;
+import model.MoveEncoding;
+import model.MoveGenerator;
+import model.PieceColor;
+
+/**
+ * Searches a root position in parallel with the Young Brothers Wait strategy, for
+ * {@link AlphaBetaSearch} running with {@link ParallelMode#YOUNG_BROTHERS_WAIT}. At a node, the
+ * first move (the hash move, if there is one) is searched alone to set the bound, and the other
+ * moves are then forked as tasks on a fork/join pool and searched with a null window at that
+ * bound; one that beats it is searched again with the full window. A brother that fails high
+ * aborts the others, and everything below them, as soon as it returns, whichever of them the
+ * node is waiting for.
+ *
+ * Only the nodes of the first {@link #MAX_SPLIT_PLY} plies are split. Deeper nodes, nodes with
+ * less than {@link #MIN_SPLIT_DEPTH} plies left and nodes with a single move are searched by the
+ * serial {@link AlphaBetaSearch} of the thread they run on, which keeps its killers from one
+ * subtree to the next and shares the transposition and history tables. Below the root, a serial
+ * subtree searched with a null window is not part of the principal variation, so it takes table
+ * cutoffs and prunes at its own root. The split nodes do without the selective search, so
+ * splitting deeper costs more nodes than the extra parallelism gains. The node limit is checked
+ * as the serial searches finish, so it can be overshot by a few of them.
+ */
+final class YoungBrothersWaitSearch {
+
+    /**
+     * A node of the parallel part of the tree. Its score is for its side to move.
+     */
+    private final class Node extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicBoolean aborted;
+        private final int alpha;
+        private long bestMove;
+        private final int beta;
+        private final Board board;
+        private final List<Node> children;
+        /** Set by the first child to refute the node. */
+        private final AtomicBoolean cutoff;
+        private long cutoffMove;
+        private int cutoffScore;
+        private final int depth;
+        /** The move that leads to the node from its parent. */
+        private final long move;
+        private final Node parent;
+        private final int ply;
+        private long[] principalVariation;
+
+        Node(Node parent, long move, Board board, int ply, int depth, int alpha, int beta) {
+            this.parent = parent;
+            this.move = move;
+            this.board = board;
+            this.ply = ply;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.aborted = new AtomicBoolean();
+            this.children = new CopyOnWriteArrayList<>();
+            this.cutoff = new AtomicBoolean();
+            this.bestMove = MoveEncoding.NO_MOVE;
+            this.principalVariation = new long[0];
+        }
+
+        /**
+         * Stops the node and everything below it; their scores are meaningless afterwards.
+         */
+        void abort() {
+            this.aborted.set(true);
+            for (final Node child : this.children) {
+                child.abort();
+            }
+        }
+
+        private Node addChild(long move, int childAlpha, int childBeta) {
+            final Board childBoard = new Board(this.board);
+            childBoard.movePiece(move);
+            final Node child = new Node(this, move, childBoard, this.ply + 1, this.depth - 1,
+                    childAlpha, childBeta);
+            this.children.add(child);
+            // An abort that missed the new child is seen here
+            if (this.aborted.get()) {
+                child.abort();
+            }
+            return child;
+        }
+
+        @Override
+        protected Integer compute() {
+            final int score = this.search();
+            // A refutation of the parent stops the brothers at once, not when the parent gets to it
+            if (this.parent != null && !this.aborted.get() && -score >= this.parent.beta
+                    && this.parent.cutoff.compareAndSet(false, true)) {
+                this.parent.cutoffScore = -score;
+                this.parent.cutoffMove = this.move;
+                for (final Node brother : this.parent.children) {
+                    if (brother != this) {
+                        brother.abort();
+                    }
+                }
+            }
+            return score;
+        }
+
+        private int search() {
+            if (this.aborted.get()) {
+                return this.alpha;
+            }
+            final PieceColor color = this.board.getSideToMove();
+            final long[] moves = MoveGenerator.generateMoves(this.board, color);
+            if (this.ply >= MAX_SPLIT_PLY || this.depth < MIN_SPLIT_DEPTH || moves.length < 2) {
+                return this.searchSerially();
+            }
+            YoungBrothersWaitSearch.this.nodes.incrementAndGet();
+            final long key = this.board.getZobristKey();
+            final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+            if (YoungBrothersWaitSearch.this.transpositionTable.probe(key, entry)) {
+                moveToFront(moves, entry.getMove());
+            }
+
+            // The eldest brother sets the bound for the others
+            int bestScore = -this.addChild(moves[0], -this.beta, -this.alpha).compute();
+            this.bestMove = moves[0];
+            if (bestScore < this.beta) {
+                // The brothers all start at once, so the eldest's bound is the only one known;
+                // a re-search uses the best score found by then
+                final int bound = Math.max(this.alpha, bestScore);
+                final List<Node> brothers = new ArrayList<>(moves.length - 1);
+                for (int i = 1; i < moves.length; i++) {
+                    brothers.add(this.addChild(moves[i], -bound - 1, -bound));
+                }
+                for (int i = brothers.size() - 1; i >= 0; i--) {
+                    brothers.get(i).fork();
+                }
+                for (int i = 0; i < brothers.size(); i++) {
+                    // Aborted brothers still have to be joined, so no task outlives the search
+                    int score = -brothers.get(i).join();
+                    if (this.cutoff.get() || this.aborted.get()) {
+                        continue;
+                    }
+                    if (score > bound && score < this.beta) {
+                        // Beat the null window, so search again with the full one
+                        score = -this.addChild(moves[i + 1], -this.beta,
+                                -Math.max(this.alpha, bestScore)).compute();
+                    }
+                    if (score > bestScore && !this.cutoff.get()) {
+                        bestScore = score;
+                        this.bestMove = moves[i + 1];
+                    }
+                }
+                if (this.cutoff.get()) {
+                    // Every score before the refutation was below beta
+                    bestScore = this.cutoffScore;
+                    this.bestMove = this.cutoffMove;
+                }
+            }
+            if (this.aborted.get()) {
+                return this.alpha;
+            }
+            this.principalVariation = new long[] { this.bestMove };
+
+            int bound;
+            if (bestScore >= this.beta) {
+                bound = TranspositionTable.BOUND_LOWER;
+            } else if (bestScore > this.alpha) {
+                bound = TranspositionTable.BOUND_EXACT;
+            } else {
+                bound = TranspositionTable.BOUND_UPPER;
+            }
+            YoungBrothersWaitSearch.this.transpositionTable.store(key, this.depth, bound,
+                    bestScore, bound == TranspositionTable.BOUND_UPPER ? MoveEncoding.NO_MOVE
+                            : this.bestMove);
+            return bestScore;
+        }
+
+        private int searchSerially() {
+            final YoungBrothersWaitSearch outer = YoungBrothersWaitSearch.this;
+            final AlphaBetaSearch search = outer.serialSearches.get();
+            final long nodesBefore = search.getNodes();
+            search.setPosition(this.board);
+            search.setLimits(outer.deadline,
+                    nodesBefore + Math.max(outer.nodeLimit - outer.nodes.get(), 1));
+            search.setStopSignal(this.aborted);
+            // Only the root needs a move; other nodes search as part of the tree
+            SearchResult result = null;
+            int score;
+            if (this.ply == 0) {
+                result = search.searchRoot(this.depth, this.alpha, this.beta);
+                score = result == null ? this.alpha : result.getScore();
+            } else {
+                score = search.searchSubtree(this.depth, this.alpha, this.beta);
+            }
+
+            if (outer.nodes.addAndGet(search.getNodes() - nodesBefore) >= outer.nodeLimit
+                    || (search.isStopped() && !this.aborted.get())) {
+                // The limits ran out
+                outer.stopped = true;
+                outer.root.abort();
+            }
+            if (search.isStopped()) {
+                return this.alpha;
+            }
+            if (result != null) {
+                this.bestMove = result.getMove();
+                this.principalVariation = result.getPrincipalVariation();
+            }
+            return score;
+        }
+    }
+
+    /** Nodes this far from the root are searched serially. */
+    static final int MAX_SPLIT_PLY = 2;
+    /** Nodes with less remaining depth are searched serially. */
+    static final int MIN_SPLIT_DEPTH = 4;
+
+    private static void moveToFront(long[] moves, long move) {
+        for (int i = 1; i < moves.length; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    private final long deadline;
+    private final long nodeLimit;
+    private final AtomicLong nodes;
+    private volatile Node root;
+    private final ThreadLocal<AlphaBetaSearch> serialSearches;
+    private volatile boolean stopped;
+    private final TranspositionTable transpositionTable;
+
+    /**
+     * @param serialSearches
+     *            the search each thread runs its serial subtrees with; they must search at
+     *            least as deep as this search does
+     * @param deadline
+     *            {@link System#nanoTime()} value to stop at
+     * @param nodeLimit
+     *            number of nodes to stop at
+     */
+    YoungBrothersWaitSearch(TranspositionTable transpositionTable,
+            ThreadLocal<AlphaBetaSearch> serialSearches, long deadline, long nodeLimit) {
+        this.transpositionTable = transpositionTable;
+        this.serialSearches = serialSearches;
+        this.deadline = deadline;
+        this.nodeLimit = nodeLimit;
+        this.nodes = new AtomicLong();
+    }
+
+    public long getNodes() {
+        return this.nodes.get();
+    }
+
+    /**
+     * Searches a position for its side to move, on the pool.
+     *
+     * @return the result, or {@code null} if the limits stopped the search first. As for
+     *         {@link AlphaBetaSearch}, a score at or below alpha is an upper bound and one at or
+     *         above beta a lower bound; after a fail low there is no move. The principal
+     *         variation stops at the first node that was split.
+     */
+    SearchResult search(ForkJoinPool pool, Board board, int depth, int alpha, int beta) {
+        this.root = new Node(null, MoveEncoding.NO_MOVE, new Board(board), 0, depth, alpha,
+                beta);
+        // A stop that came before the root existed
+        if (this.stopped) {
+            this.root.abort();
+        }
+        final int score = pool.invoke(this.root);
+        if (this.stopped) {
+            return null;
+        }
+        if (score <= alpha) {
+            return new SearchResult(MoveEncoding.NO_MOVE, score, depth, new long[0]);
+        }
+        return new SearchResult(this.root.bestMove, score, depth,
+                this.root.principalVariation);
+    }
+
+    /**
+     * Makes the search give up; it can be called from any thread.
+     */
+    void stop() {
+        this.stopped = true;
+        final Node currentRoot = this.root;
+        if (currentRoot != null) {
+            currentRoot.abort();
+        }
+    }
+}
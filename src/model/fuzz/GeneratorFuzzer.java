@@ -0,0 +1,300 @@
+package model.fuzz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.Board;
+import model.BoardNotation;
+import model.MoveEncoding;
+import model.MoveGenerator;
+import model.Piece;
+import model.PieceColor;
+import model.PieceInterface;
+import model.ReferenceMoveGenerator;
+import model.ReferenceMoveGenerator.ReferenceMove;
+import model.UndoRecord;
+
+/**
+ * Plays random legal games and checks every position they pass through: the fast
+ * {@link MoveGenerator} must produce the same moves as the {@link ReferenceMoveGenerator}, which
+ * shares no code with it, and {@link Board} must play each of them to the position the reference
+ * plays it to. Playing the move object built from an encoded move must leave the same position
+ * (and Zobrist key) as playing the encoded move. A mismatching position is shrunk to as few
+ * pieces as still show the mismatch.
+ *
+ * Game {@code i} is played with the seed {@code seed + i}, so any reported game can be replayed
+ * on its own, whatever the number of threads.
+ */
+public final class GeneratorFuzzer {
+
+    /**
+     * A test applied to a position; returns a description of what is wrong, or {@code null}.
+     */
+    public interface PositionCheck {
+        String check(Board board);
+    }
+
+    /**
+     * Compares the fast generator against the reference one.
+     */
+    public static final PositionCheck GENERATOR_CHECK = new PositionCheck() {
+        @Override
+        public String check(Board board) {
+            return findMismatch(board);
+        }
+    };
+
+    private static final int MAX_PLIES = 200;
+
+    /**
+     * Checks one position with the board's side to move.
+     *
+     * @return a description of the first difference found, or {@code null} if there is none
+     */
+    public static String findMismatch(Board board) {
+        final PieceColor color = board.getSideToMove();
+        final int[] squares = ReferenceMoveGenerator.toSquares(board);
+
+        // Paths that take the same pieces in another order are one encoded move
+        final Map<Long, ReferenceMove> referenceMoves = new HashMap<>();
+        for (final ReferenceMove move : ReferenceMoveGenerator.getAllPossibleMoves(squares,
+                color)) {
+            referenceMoves.put(move.encode(), move);
+        }
+        final long[] moves = MoveGenerator.generateMoves(board, color);
+
+        final List<Long> candidateMoves = new ArrayList<>();
+        for (final long move : moves) {
+            if (candidateMoves.contains(move)) {
+                return "move " + MoveEncoding.toString(move) + " is generated twice";
+            }
+            candidateMoves.add(move);
+        }
+        if (!referenceMoves.keySet().equals(new HashSet<>(candidateMoves))) {
+            return "moves " + toStrings(candidateMoves) + " instead of "
+                    + toStrings(new ArrayList<>(referenceMoves.keySet()));
+        }
+        if (MoveGenerator.hasAnyLegalMove(board, color) == referenceMoves.isEmpty()) {
+            return "hasAnyLegalMove disagrees with the reference moves";
+        }
+        if (MoveGenerator.hasJumpMove(board, color) == ReferenceMoveGenerator
+                .getJumpMoves(squares, color).isEmpty()) {
+            return "hasJumpMove disagrees with the reference jumps";
+        }
+
+        final UndoRecord undo = new UndoRecord();
+        for (final long move : moves) {
+            final Board actual = new Board(board);
+            actual.movePiece(move);
+            final int[] expected = referenceMoves.get(move).play(squares);
+            if (!Arrays.equals(expected, ReferenceMoveGenerator.toSquares(actual))
+                    || actual.getSideToMove() != color.getOppositeColor()) {
+                return "move " + MoveEncoding.toString(move) + " gives "
+                        + BoardNotation.format(actual) + " instead of "
+                        + BoardNotation.format(toBoard(expected, color.getOppositeColor()));
+            }
+
+            // The move objects handed out at the API's edge must play the same way
+            final Board playedAsObject = new Board(board);
+            playedAsObject.movePiece(MoveEncoding.toMoveInterface(move, board));
+            if (!playedAsObject.equals(actual)
+                    || playedAsObject.getZobristKey() != actual.getZobristKey()) {
+                return "move " + MoveEncoding.toString(move) + " played as an object gives "
+                        + BoardNotation.format(playedAsObject);
+            }
+            if (BoardNotation.parse(BoardNotation.format(actual)).getZobristKey() != actual
+                    .getZobristKey()) {
+                return "move " + MoveEncoding.toString(move) + " leaves a stale Zobrist key";
+            }
+
+            final Board replayed = new Board(board);
+            replayed.makeMove(move, undo);
+            replayed.unmakeMove(undo);
+            if (!replayed.equals(board) || replayed.getZobristKey() != board.getZobristKey()) {
+                return "move " + MoveEncoding.toString(move) + " is not undone cleanly";
+            }
+        }
+        return null;
+    }
+
+    public static void main(String[] args) {
+        final int numberOfGames = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        final long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        final int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("Playing " + numberOfGames + " games with seed " + seed + " on "
+                + threads + " threads");
+        final GeneratorFuzzer fuzzer = new GeneratorFuzzer(seed, threads, GENERATOR_CHECK);
+        final long startTime = System.nanoTime();
+        final List<String> mismatches = fuzzer.run(numberOfGames);
+        final double seconds = (System.nanoTime() - startTime) / 1e9;
+
+        for (final String mismatch : mismatches) {
+            System.out.println(mismatch);
+        }
+        System.out.println("Positions checked: " + fuzzer.getPositionsChecked());
+        System.out.println("Positions/sec: " + (long) (fuzzer.getPositionsChecked() / seconds));
+        System.out.println("Mismatches: " + mismatches.size());
+        if (!mismatches.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Removes pieces, and turns kings back into men, for as long as the check still fails.
+     *
+     * @param board
+     *            a position the check fails on
+     * @param check
+     *            the failing check
+     * @return a position with no piece that can be removed or uncrowned without the check passing
+     */
+    public static Board shrink(Board board, PositionCheck check) {
+        Board smallest = board;
+        boolean shrunk = true;
+        while (shrunk) {
+            shrunk = false;
+            for (int position = 1; position <= 32 && !shrunk; position++) {
+                final PieceInterface piece = smallest.getPiece(position);
+                if (piece.isNull()) {
+                    continue;
+                }
+
+                final Board withoutPiece = new Board(smallest);
+                withoutPiece.removePiece(position);
+                final Board withMan = new Board(withoutPiece);
+                withMan.setOccupyingPiece(position, Piece.getInstance(piece.getColor()));
+
+                if (runCheck(check, withoutPiece) != null) {
+                    smallest = withoutPiece;
+                    shrunk = true;
+                } else if (piece.isKing() && !withMan.getPiece(position).isKing()
+                        && runCheck(check, withMan) != null) {
+                    smallest = withMan;
+                    shrunk = true;
+                }
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Runs a check, treating an exception as a failure.
+     */
+    private static String runCheck(PositionCheck check, Board board) {
+        try {
+            return check.check(board);
+        } catch (final RuntimeException e) {
+            return "throws " + e;
+        }
+    }
+
+    /**
+     * Builds a board from the reference generator's squares, for reports.
+     */
+    private static Board toBoard(int[] squares, PieceColor sideToMove) {
+        int black = 0;
+        int white = 0;
+        int kings = 0;
+        for (int square = 1; square < squares.length; square++) {
+            final int bit = 1 << (square - 1);
+            final int piece = squares[square];
+            if (piece == ReferenceMoveGenerator.BLACK_MAN
+                    || piece == ReferenceMoveGenerator.BLACK_KING) {
+                black |= bit;
+            } else if (piece != ReferenceMoveGenerator.EMPTY) {
+                white |= bit;
+            }
+            if (piece == ReferenceMoveGenerator.BLACK_KING
+                    || piece == ReferenceMoveGenerator.WHITE_KING) {
+                kings |= bit;
+            }
+        }
+        return new Board(black, white, kings, sideToMove);
+    }
+
+    private static List<String> toStrings(List<Long> moves) {
+        final List<String> strings = new ArrayList<>();
+        for (final long move : moves) {
+            strings.add(MoveEncoding.toString(move));
+        }
+        Collections.sort(strings);
+        return strings;
+    }
+
+    private final PositionCheck check;
+    private final List<String> mismatches = Collections.synchronizedList(new ArrayList<String>());
+    private final AtomicLong positionsChecked = new AtomicLong();
+    private final long seed;
+    private final int threads;
+
+    public GeneratorFuzzer(long seed, int threads, PositionCheck check) {
+        this.seed = seed;
+        this.threads = threads;
+        this.check = check;
+    }
+
+    public long getPositionsChecked() {
+        return this.positionsChecked.get();
+    }
+
+    private void playGame(long gameSeed) {
+        final SplittableRandom random = new SplittableRandom(gameSeed);
+        final Board board = new Board();
+        for (int ply = 0; ply < MAX_PLIES; ply++) {
+            this.positionsChecked.incrementAndGet();
+            final String mismatch = runCheck(this.check, board);
+            if (mismatch != null) {
+                final Board smallest = shrink(board, this.check);
+                this.mismatches.add("Game seed " + gameSeed + ", ply " + ply + ": "
+                        + BoardNotation.format(board) + " " + mismatch + "\n  shrunk to "
+                        + BoardNotation.format(smallest) + " " + runCheck(this.check, smallest));
+                return;
+            }
+
+            final long[] moves = MoveGenerator.generateMoves(board, board.getSideToMove());
+            if (moves.length == 0) {
+                return;
+            }
+            board.movePiece(moves[random.nextInt(moves.length)]);
+        }
+    }
+
+    /**
+     * Plays the games and returns a report for each game that hit a mismatch.
+     */
+    public List<String> run(final int numberOfGames) {
+        this.mismatches.clear();
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+        for (int worker = 0; worker < this.threads; worker++) {
+            final int firstGame = worker;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (int game = firstGame; game < numberOfGames; game += GeneratorFuzzer.this
+                            .threads) {
+                        GeneratorFuzzer.this.playGame(GeneratorFuzzer.this.seed + game);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new ArrayList<>(this.mismatches);
+    }
+}
@@ -0,0 +1,152 @@
+package model.perft;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import model.Board;
+import model.MoveGenerator;
+import model.UndoRecord;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth. The counts are a check on the
+ * move generator (they must not change when the generator is optimised) and a measure of its
+ * speed. Optionally, repeated subtrees are looked up in a {@link PerftHashTable}, and the root
+ * moves are searched in parallel on the common fork/join pool.
+ */
+public final class Perft {
+
+    /**
+     * Walks the tree below one position on its own board and buffers.
+     */
+    private static final class Walker {
+        private final Board board;
+        private final PerftHashTable hashTable;
+        private final long[][] moveLists;
+        private final UndoRecord[] undoRecords;
+
+        Walker(Board board, int depth, PerftHashTable hashTable) {
+            this.board = board;
+            this.hashTable = hashTable;
+            this.moveLists = new long[depth + 1][MoveGenerator.MAX_MOVES];
+            this.undoRecords = new UndoRecord[depth + 1];
+            for (int ply = 0; ply <= depth; ply++) {
+                this.undoRecords[ply] = new UndoRecord();
+            }
+        }
+
+        long count(int depth) {
+            if (depth == 0) {
+                return 1;
+            }
+            final long[] moves = this.moveLists[depth];
+            final int numberOfMoves = MoveGenerator.generateMoves(this.board,
+                    this.board.getSideToMove(), moves);
+            if (depth == 1) {
+                return numberOfMoves;
+            }
+
+            final long key = this.board.getZobristKey();
+            if (this.hashTable != null) {
+                final long storedCount = this.hashTable.get(key, depth);
+                if (storedCount >= 0) {
+                    return storedCount;
+                }
+            }
+
+            long nodes = 0;
+            final UndoRecord undo = this.undoRecords[depth];
+            for (int i = 0; i < numberOfMoves; i++) {
+                this.board.makeMove(moves[i], undo);
+                nodes += this.count(depth - 1);
+                this.board.unmakeMove(undo);
+            }
+
+            if (this.hashTable != null) {
+                this.hashTable.put(key, depth, nodes);
+            }
+            return nodes;
+        }
+    }
+
+    private final PerftHashTable hashTable;
+    private final boolean parallel;
+
+    public Perft() {
+        this(null, false);
+    }
+
+    /**
+     * @param hashTable
+     *            table for repeated subtrees, or {@code null} to count every node
+     * @param parallel
+     *            whether to spread the root moves over the common fork/join pool
+     */
+    public Perft(PerftHashTable hashTable, boolean parallel) {
+        this.hashTable = hashTable;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Counts the positions reached after {@code depth} moves, with the board's side to move
+     * playing first.
+     */
+    public long count(Board board, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        long nodes = 0;
+        for (final long count : this.divide(board, depth).values()) {
+            nodes += count;
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the positions below each root move.
+     *
+     * @param board
+     *            the root position; it is not changed
+     * @param depth
+     *            number of moves to play, at least 1
+     * @return the count for each encoded root move, in generation order
+     */
+    public Map<Long, Long> divide(Board board, final int depth) {
+        final long[] moves = MoveGenerator.generateMoves(board, board.getSideToMove());
+        final List<RecursiveTask<Long>> tasks = new ArrayList<>(moves.length);
+        for (final long move : moves) {
+            final Board child = new Board(board);
+            child.movePiece(move);
+            tasks.add(new RecursiveTask<Long>() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected Long compute() {
+                    return new Walker(child, depth - 1, Perft.this.hashTable).count(depth - 1);
+                }
+            });
+        }
+
+        if (this.parallel) {
+            ForkJoinPool.commonPool().invoke(new RecursiveTask<Void>() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected Void compute() {
+                    invokeAll(tasks);
+                    return null;
+                }
+            });
+        }
+
+        final Map<Long, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < moves.length; i++) {
+            final RecursiveTask<Long> task = tasks.get(i);
+            counts.put(moves[i], this.parallel ? task.join() : task.invoke());
+        }
+        return counts;
+    }
+}
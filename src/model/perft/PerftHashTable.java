@@ -0,0 +1,53 @@
+package model.perft;
+
+/**
+ * Remembers subtree counts by Zobrist key and depth, so perft counts each repeated subtree once.
+ * Each slot is a key word and a data word; the key word is stored XORed with the data word, so a
+ * slot torn by two threads writing at once fails the key check instead of giving a wrong count.
+ * New entries always replace old ones.
+ */
+public final class PerftHashTable {
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    private final long[] data;
+    private final long[] keys;
+    private final int mask;
+
+    /**
+     * @param megabytes
+     *            memory to use; rounded down to a power-of-two number of entries
+     */
+    public PerftHashTable(int megabytes) {
+        final long bytes = Math.max(1L, megabytes) << 20;
+        final int numberOfEntries = Integer.highestOneBit((int) Math.min(1 << 30,
+                bytes / BYTES_PER_ENTRY));
+        this.data = new long[numberOfEntries];
+        this.keys = new long[numberOfEntries];
+        this.mask = numberOfEntries - 1;
+    }
+
+    /**
+     * Returns the stored count for a position at a depth, or -1 if there is none.
+     */
+    public long get(long zobristKey, int depth) {
+        final int index = (int) zobristKey & this.mask;
+        final long entry = this.data[index];
+        if ((this.keys[index] ^ entry) == zobristKey && (entry & DEPTH_MASK) == depth) {
+            return entry >>> DEPTH_BITS;
+        }
+        return -1;
+    }
+
+    public int getNumberOfEntries() {
+        return this.data.length;
+    }
+
+    public void put(long zobristKey, int depth, long count) {
+        final int index = (int) zobristKey & this.mask;
+        final long entry = (count << DEPTH_BITS) | depth;
+        this.data[index] = entry;
+        this.keys[index] = zobristKey ^ entry;
+    }
+}
@@ -0,0 +1,72 @@
+package model.positions;
+
+import model.Board;
+import model.PieceColor;
+
+/**
+ * The number of men and kings each side has, used to pick out positions of one material balance.
+ * Any count may be {@link #ANY}.
+ */
+public final class MaterialSignature {
+    public static final int ANY = -1;
+
+    public static MaterialSignature of(Board board) {
+        final int blackKings = board.getNumberOfKings(PieceColor.BLACK);
+        final int whiteKings = board.getNumberOfKings(PieceColor.WHITE);
+        return new MaterialSignature(board.getNumberOfBlackPieces() - blackKings, blackKings,
+                board.getNumberOfWhitePieces() - whiteKings, whiteKings);
+    }
+
+    private static boolean matches(int expected, int actual) {
+        return expected == ANY || expected == actual;
+    }
+
+    private final int blackKings;
+    private final int blackMen;
+    private final int whiteKings;
+    private final int whiteMen;
+
+    public MaterialSignature(int blackMen, int blackKings, int whiteMen, int whiteKings) {
+        for (final int count : new int[] { blackMen, blackKings, whiteMen, whiteKings }) {
+            if (count != ANY && (count < 0 || count > 12)) {
+                throw new IllegalArgumentException("Piece count out of range: " + count);
+            }
+        }
+        this.blackMen = blackMen;
+        this.blackKings = blackKings;
+        this.whiteMen = whiteMen;
+        this.whiteKings = whiteKings;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        final MaterialSignature other = (MaterialSignature) obj;
+        return this.blackMen == other.blackMen && this.blackKings == other.blackKings
+                && this.whiteMen == other.whiteMen && this.whiteKings == other.whiteKings;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((this.blackMen * 31 + this.blackKings) * 31 + this.whiteMen) * 31 + this.whiteKings;
+    }
+
+    public boolean matches(Board board) {
+        final MaterialSignature actual = of(board);
+        return matches(this.blackMen, actual.blackMen)
+                && matches(this.blackKings, actual.blackKings)
+                && matches(this.whiteMen, actual.whiteMen)
+                && matches(this.whiteKings, actual.whiteKings);
+    }
+
+    @Override
+    public String toString() {
+        return "black " + this.blackMen + "+" + this.blackKings + "K, white " + this.whiteMen + "+"
+                + this.whiteKings + "K";
+    }
+}
@@ -0,0 +1,128 @@
+package model.positions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import model.Board;
+import model.PieceColor;
+
+/**
+ * A memory-mapped file of positions, 16 bytes each: the black, white and king masks and the side
+ * to move (0 for black, 1 for white) as four big-endian ints. There is no header; the number of
+ * positions is the file size divided by 16. A file holds at most {@link Integer#MAX_VALUE} bytes.
+ */
+public final class PositionFile {
+    public static final int BYTES_PER_POSITION = 16;
+
+    /**
+     * Maps an existing position file for reading.
+     */
+    public static PositionFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new PositionFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static void put(ByteBuffer buffer, Board board) {
+        buffer.putInt(board.getPieceMask(PieceColor.BLACK));
+        buffer.putInt(board.getPieceMask(PieceColor.WHITE));
+        buffer.putInt(board.getKingMask());
+        buffer.putInt(board.getSideToMove() == PieceColor.BLACK ? 0 : 1);
+    }
+
+    /**
+     * Fills a file with random positions. The positions are split into equal runs, one per
+     * worker; worker {@code w} draws its run from a generator seeded with {@code seed + w}, so the
+     * file only depends on the settings, the seed and the number of workers.
+     *
+     * @param path
+     *            the file to write; an existing file is replaced
+     * @param numberOfPositions
+     *            number of positions to write
+     * @param workers
+     *            number of threads to generate with
+     * @param seed
+     *            seed of the first worker
+     * @param minPlies
+     *            see {@link RandomPositionGenerator}
+     * @param maxPlies
+     *            see {@link RandomPositionGenerator}
+     * @param sideToMove
+     *            see {@link RandomPositionGenerator}
+     * @param material
+     *            see {@link RandomPositionGenerator}
+     */
+    public static void write(Path path, final int numberOfPositions, final int workers,
+            final long seed, final int minPlies, final int maxPlies, final PieceColor sideToMove,
+            final MaterialSignature material) throws IOException {
+        if ((long) numberOfPositions * BYTES_PER_POSITION > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many positions for one file");
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            final List<Future<Void>> results = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                final int first = (int) ((long) numberOfPositions * worker / workers);
+                final int last = (int) ((long) numberOfPositions * (worker + 1) / workers);
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE,
+                        (long) first * BYTES_PER_POSITION,
+                        (long) (last - first) * BYTES_PER_POSITION);
+                final long workerSeed = seed + worker;
+
+                results.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        final RandomPositionGenerator generator = new RandomPositionGenerator(
+                                workerSeed, minPlies, maxPlies, sideToMove, material);
+                        for (int position = first; position < last; position++) {
+                            put(buffer, generator.next());
+                        }
+                        buffer.force();
+                        return null;
+                    }
+                }));
+            }
+            for (final Future<Void> result : results) {
+                result.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing " + path, e);
+        } catch (final ExecutionException e) {
+            throw new IOException("Could not write " + path, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private final ByteBuffer buffer;
+
+    private PositionFile(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public Board get(int index) {
+        final int offset = index * BYTES_PER_POSITION;
+        return new Board(this.buffer.getInt(offset), this.buffer.getInt(offset + 4),
+                this.buffer.getInt(offset + 8),
+                this.buffer.getInt(offset + 12) == 0 ? PieceColor.BLACK : PieceColor.WHITE);
+    }
+
+    public int size() {
+        return this.buffer.capacity() / BYTES_PER_POSITION;
+    }
+}
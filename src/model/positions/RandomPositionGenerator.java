@@ -0,0 +1,79 @@
+package model.positions;
+
+import java.util.SplittableRandom;
+
+import model.Board;
+import model.MoveGenerator;
+import model.PieceColor;
+
+/**
+ * Produces legal positions that are reachable from the starting position by playing seeded
+ * random games. Each game is played for a random number of plies within the configured range;
+ * from there, the first position with the wanted side to move and material is returned. Games
+ * that end first are thrown away. The same seed always gives the same positions.
+ */
+public final class RandomPositionGenerator {
+    private static final int MAX_GAME_PLIES = 300;
+
+    private final int maxPlies;
+    private final MaterialSignature material;
+    private final int minPlies;
+    private final long[] moves = new long[MoveGenerator.MAX_MOVES];
+    private final SplittableRandom random;
+    private final PieceColor sideToMove;
+
+    public RandomPositionGenerator(long seed) {
+        this(seed, 0, MAX_GAME_PLIES, null, null);
+    }
+
+    /**
+     * @param seed
+     *            seed for the random games
+     * @param minPlies
+     *            fewest plies to play before a position may be returned
+     * @param maxPlies
+     *            most plies to play before looking for a position
+     * @param sideToMove
+     *            side to move in the returned positions, or {@code null} for either
+     * @param material
+     *            material the returned positions must have, or {@code null} for any. Material
+     *            that random games (almost) never reach makes {@link #next()} loop (almost)
+     *            forever.
+     */
+    public RandomPositionGenerator(long seed, int minPlies, int maxPlies, PieceColor sideToMove,
+            MaterialSignature material) {
+        if (minPlies < 0 || maxPlies < minPlies) {
+            throw new IllegalArgumentException("Bad ply range " + minPlies + "-" + maxPlies);
+        }
+        this.random = new SplittableRandom(seed);
+        this.minPlies = minPlies;
+        this.maxPlies = maxPlies;
+        this.sideToMove = sideToMove;
+        this.material = material;
+    }
+
+    private boolean isWanted(Board board) {
+        return (this.sideToMove == null || board.getSideToMove() == this.sideToMove)
+                && (this.material == null || this.material.matches(board));
+    }
+
+    public Board next() {
+        while (true) {
+            final Board board = new Board();
+            final int targetPlies = this.minPlies
+                    + this.random.nextInt(this.maxPlies - this.minPlies + 1);
+
+            for (int ply = 0; ply <= Math.max(targetPlies, MAX_GAME_PLIES); ply++) {
+                if (ply >= targetPlies && this.isWanted(board)) {
+                    return board;
+                }
+                final int numberOfMoves = MoveGenerator.generateMoves(board,
+                        board.getSideToMove(), this.moves);
+                if (numberOfMoves == 0) {
+                    break;
+                }
+                board.movePiece(this.moves[this.random.nextInt(numberOfMoves)]);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class BoardNotationTest {
+
+    @Test
+    public void testFormat() {
+        assertEquals("B:W21,22,23,24,25,26,27,28,29,30,31,32:B1,2,3,4,5,6,7,8,9,10,11,12",
+                BoardNotation.format(new Board()));
+
+        final Board board = new Board(Arrays.asList(12, 16), Arrays.asList(18, 24));
+        board.kingPiece(16);
+        board.setSideToMove(PieceColor.WHITE);
+        assertEquals("W:W18,24:B12,K16", BoardNotation.format(board));
+    }
+
+    @Test
+    public void testParse() {
+        assertEquals(new Board(), BoardNotation.parse(BoardNotation.STARTING_POSITION));
+
+        final Board board = BoardNotation.parse("W:W18,K24:BK10,12");
+        assertEquals(PieceColor.WHITE, board.getSideToMove());
+        assertTrue(board.getPiece(10).isKing());
+        assertTrue(board.getPiece(10).isBlack());
+        assertTrue(board.getPiece(24).isKing());
+        assertTrue(board.getPiece(18).isWhite());
+        assertEquals(4, board.getNumberOfBlackPieces() + board.getNumberOfWhitePieces());
+        assertEquals("W:W18,K24:BK10,12", BoardNotation.format(board));
+
+        // an empty side is allowed
+        assertEquals(0, BoardNotation.parse("B:W:B1").getNumberOfWhitePieces());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_badSquare() {
+        BoardNotation.parse("B:W33:B1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_squareTakenTwice() {
+        BoardNotation.parse("B:W5:B1-5");
+    }
+}
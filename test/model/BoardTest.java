@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
@@ -69,6 +70,36 @@ public class BoardTest {
         }
     }
 
+    @Test
+    public void testCopyIsIndependent() {
+        Board copy = new Board(this.board);
+        assertEquals(this.board, copy);
+
+        copy.movePiece(new Move(12, 16, copy));
+        assertNotEquals(this.board, copy);
+        assertTrue(this.board.getPiece(12).isBlack());
+        assertTrue(this.board.getPiece(16).isNull());
+    }
+
+    @Test
+    public void testBoardFromMasks() {
+        final Board copy = new Board(this.board.getPieceMask(PieceColor.BLACK),
+                this.board.getPieceMask(PieceColor.WHITE), this.board.getKingMask(),
+                this.board.getSideToMove());
+        assertEquals(this.board, copy);
+        assertEquals(this.board.getZobristKey(), copy.getZobristKey());
+
+        final Board withKing = new Board(0x1, 0x10, 0x10, PieceColor.WHITE);
+        assertTrue(withKing.getPiece(5).isKing());
+        assertTrue(withKing.getPiece(5).isWhite());
+        assertEquals(PieceColor.WHITE, withKing.getSideToMove());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoardFromMasks_overlappingPieces() {
+        new Board(0x3, 0x2, 0, PieceColor.BLACK);
+    }
+
     @Test
     public void testEquals() {
         Board board1 = new Board();
@@ -96,6 +127,16 @@ public class BoardTest {
         assertNotEquals(board1, board2);
     }
 
+    @Test
+    public void testGetPiece() {
+        assertSame(Piece.getInstance(PieceColor.BLACK), this.board.getPiece(1));
+        assertSame(Piece.getInstance(PieceColor.WHITE), this.board.getPiece(32));
+        assertSame(NullPiece.getInstance(), this.board.getPiece(16));
+
+        this.board.kingPiece(1);
+        assertSame(Piece.getInstance(PieceColor.BLACK, true), this.board.getPiece(1));
+    }
+
     @Test
     public void testGetSquare() {
         final int gameStateIndex = 0;
@@ -184,6 +225,67 @@ public class BoardTest {
         assertEquals(board1.hashCode(), board2.hashCode());
     }
 
+    @Test
+    public void testKingPiece() {
+        assertFalse(this.board.getPiece(9).isKing());
+        this.board.kingPiece(9);
+        assertTrue(this.board.getPiece(9).isKing());
+        assertTrue(this.board.getPiece(9).isBlack());
+        assertEquals(1, this.board.getNumberOfKings(PieceColor.BLACK));
+        assertEquals(0, this.board.getNumberOfKings(PieceColor.WHITE));
+
+        // empty squares cannot hold a king
+        this.board.kingPiece(16);
+        assertTrue(this.board.getPiece(16).isNull());
+        assertFalse(this.board.getPiece(16).isKing());
+
+        this.board.removePiece(9);
+        assertEquals(0, this.board.getNumberOfKings(PieceColor.BLACK));
+    }
+
+    @Test
+    public void testMakeAndUnmakeMove() {
+        final Board customBoard = new Board(Arrays.asList(23, 15, 6), Arrays.asList(26));
+        final Board originalBoard = new Board(customBoard);
+        final UndoRecord undo = new UndoRecord();
+
+        customBoard.makeMove(new MultiJump(26, 1, Arrays.asList(19, 10), customBoard), undo);
+        assertEquals(0, customBoard.getNumberOfBlackPieces());
+        assertTrue(customBoard.getPiece(1).isKing());
+        assertEquals(PieceColor.WHITE, customBoard.getSideToMove());
+
+        customBoard.unmakeMove(undo);
+        assertEquals(originalBoard, customBoard);
+        assertEquals(originalBoard.getZobristKey(), customBoard.getZobristKey());
+        assertEquals(3, customBoard.getNumberOfBlackPieces());
+        assertFalse(customBoard.getPiece(26).isKing());
+
+        // the same record can be reused for the next move
+        customBoard.makeMove(new SingleJump(26, 19, customBoard), undo);
+        assertTrue(customBoard.getPiece(23).isNull());
+        customBoard.unmakeMove(undo);
+        assertEquals(originalBoard, customBoard);
+    }
+
+    @Test
+    public void testMakeAndUnmakeEncodedMove() {
+        final Board customBoard = new Board(Arrays.asList(23, 15, 6), Arrays.asList(26));
+        final Board expectedBoard = new Board(customBoard);
+        final UndoRecord undo = new UndoRecord();
+        final MultiJump multiJump = new MultiJump(26, 1, Arrays.asList(19, 10), customBoard);
+        expectedBoard.movePiece(multiJump);
+        final Board originalBoard = new Board(customBoard);
+
+        customBoard.makeMove(MoveEncoding.encode(multiJump), undo);
+        assertEquals(expectedBoard, customBoard);
+        assertEquals(expectedBoard.getZobristKey(), customBoard.getZobristKey());
+        assertTrue(customBoard.getPiece(1).isKing());
+
+        customBoard.unmakeMove(undo);
+        assertEquals(originalBoard, customBoard);
+        assertEquals(originalBoard.getZobristKey(), customBoard.getZobristKey());
+    }
+
     @Test
     public void testMovePiece_JumpMove() {
         final List<Integer> blackPositions = Arrays.asList(15);
@@ -329,4 +431,42 @@ public class BoardTest {
         assertTrue(this.board.getPiece(positionToSet).isKing());
     }
 
+    @Test
+    public void testZobristKey() {
+        Board board1 = new Board();
+        Board board2 = new Board();
+        assertEquals(board1.getZobristKey(), board2.getZobristKey());
+
+        // the same position reached through different move orders hashes the same
+        board1.movePiece(new Move(9, 13, board1));
+        board1.movePiece(new Move(21, 17, board1));
+        board1.movePiece(new Move(10, 14, board1));
+        board2.movePiece(new Move(10, 14, board2));
+        board2.movePiece(new Move(21, 17, board2));
+        board2.movePiece(new Move(9, 13, board2));
+        assertEquals(board1, board2);
+        assertEquals(board1.getZobristKey(), board2.getZobristKey());
+
+        // the side to move is part of the key
+        Board board3 = new Board(board1);
+        board3.setSideToMove(PieceColor.BLACK);
+        assertEquals(PieceColor.WHITE, board1.getSideToMove());
+        assertNotEquals(board1.getZobristKey(), board3.getZobristKey());
+        board3.setSideToMove(PieceColor.WHITE);
+        assertEquals(board1.getZobristKey(), board3.getZobristKey());
+
+        // building a position piece by piece matches moving to it
+        List<Integer> blackPositions = Arrays.asList(1, 2, 7, 5, 9, 23, 30);
+        List<Integer> whitePositions = Arrays.asList(31, 32, 13, 15, 4, 6);
+        Board board4 = new Board(blackPositions, whitePositions);
+        board4.removePiece(30);
+        board4.setOccupyingPiece(30, new Piece(PieceColor.BLACK, true));
+        Board board5 = new Board(blackPositions, whitePositions);
+        assertEquals(board5.getZobristKey(), board4.getZobristKey());
+
+        board4.kingPiece(23);
+        assertNotEquals(board5.getZobristKey(), board4.getZobristKey());
+        board5.kingPiece(23);
+        assertEquals(board5.getZobristKey(), board4.getZobristKey());
+    }
 }
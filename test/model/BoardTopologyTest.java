@@ -0,0 +1,112 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class BoardTopologyTest {
+
+    @Test
+    public void testAdjacentPositions() {
+        List<Integer> expectedAdjacentPositions = Arrays.asList(14, 15, 22, 23);
+        List<Integer> actualAdjacentPositions = BoardTopology.getAdjacentPositions(18);
+        assertEquals(expectedAdjacentPositions.size(), actualAdjacentPositions.size());
+        assertTrue(actualAdjacentPositions.containsAll(expectedAdjacentPositions));
+
+        // corners and edges
+        assertEquals(Arrays.asList(8), BoardTopology.getAdjacentPositions(4));
+        assertEquals(Arrays.asList(25), BoardTopology.getAdjacentPositions(29));
+        assertTrue(BoardTopology.getAdjacentPositions(12).containsAll(Arrays.asList(8, 16)));
+        assertEquals(2, BoardTopology.getAdjacentPositions(12).size());
+        assertTrue(BoardTopology.getAdjacentPositions(1).containsAll(Arrays.asList(5, 6)));
+        assertEquals(2, BoardTopology.getAdjacentPositions(1).size());
+
+        for (int position = 1; position <= 32; position++) {
+            int expectedMask = 0;
+            for (int adjacentPosition : BoardTopology.getAdjacentPositions(position)) {
+                expectedMask |= BoardTopology.getMask(adjacentPosition);
+            }
+            assertEquals(expectedMask, BoardTopology.getAdjacentMask(position));
+        }
+    }
+
+    @Test
+    public void testGetJumpedPosition() {
+        assertEquals(15, BoardTopology.getJumpedPosition(10, 19));
+        assertEquals(14, BoardTopology.getJumpedPosition(10, 17));
+        assertEquals(18, BoardTopology.getJumpedPosition(23, 14));
+        assertEquals(19, BoardTopology.getJumpedPosition(23, 16));
+
+        // would wrap around the left and right edges of the board
+        assertEquals(BoardTopology.NO_SQUARE, BoardTopology.getJumpedPosition(13, 4));
+        assertEquals(BoardTopology.NO_SQUARE, BoardTopology.getJumpedPosition(5, 12));
+        assertEquals(BoardTopology.NO_SQUARE, BoardTopology.getJumpedPosition(12, 21));
+        assertEquals(BoardTopology.NO_SQUARE, BoardTopology.getJumpedPosition(1, 8));
+    }
+
+    @Test
+    public void testNeighbours() {
+        assertEquals(22, BoardTopology.getNeighbour(18, BoardTopology.DOWN_LEFT));
+        assertEquals(23, BoardTopology.getNeighbour(18, BoardTopology.DOWN_RIGHT));
+        assertEquals(14, BoardTopology.getNeighbour(18, BoardTopology.UP_LEFT));
+        assertEquals(15, BoardTopology.getNeighbour(18, BoardTopology.UP_RIGHT));
+        assertEquals(BoardTopology.NO_SQUARE, BoardTopology.getNeighbour(5, BoardTopology.UP_LEFT));
+        assertEquals(BoardTopology.NO_SQUARE, BoardTopology.getNeighbour(2, BoardTopology.UP_LEFT));
+
+        assertEquals(27, BoardTopology.getJumpLanding(18, BoardTopology.DOWN_RIGHT));
+        assertEquals(23, BoardTopology.getJumpOver(18, BoardTopology.DOWN_RIGHT));
+        assertEquals(BoardTopology.NO_SQUARE,
+                BoardTopology.getJumpLanding(28, BoardTopology.DOWN_RIGHT));
+    }
+
+    @Test
+    public void testPromotionRows() {
+        for (int position = 1; position <= 32; position++) {
+            int mask = BoardTopology.getMask(position);
+            assertEquals(position >= 29,
+                    (BoardTopology.getPromotionRow(PieceColor.BLACK) & mask) != 0);
+            assertEquals(position <= 4,
+                    (BoardTopology.getPromotionRow(PieceColor.WHITE) & mask) != 0);
+        }
+        assertTrue(BoardTopology.isForwardDirection(PieceColor.BLACK, BoardTopology.DOWN_LEFT));
+        assertFalse(BoardTopology.isForwardDirection(PieceColor.BLACK, BoardTopology.UP_RIGHT));
+        assertTrue(BoardTopology.isForwardDirection(PieceColor.WHITE, BoardTopology.UP_LEFT));
+    }
+
+    @Test
+    public void testRowsAndColumns() {
+        assertEquals(1, BoardTopology.getRow(1));
+        assertEquals(2, BoardTopology.getColumn(1));
+        assertEquals(2, BoardTopology.getRow(5));
+        assertEquals(1, BoardTopology.getColumn(5));
+        assertEquals(8, BoardTopology.getRow(32));
+        assertEquals(7, BoardTopology.getColumn(32));
+
+        for (int position = 1; position <= 32; position++) {
+            assertEquals(position, BoardTopology.getPosition(BoardTopology.getRow(position),
+                    BoardTopology.getColumn(position)));
+        }
+        assertEquals(BoardTopology.NO_SQUARE, BoardTopology.getPosition(1, 1));
+        assertEquals(BoardTopology.NO_SQUARE, BoardTopology.getPosition(0, 3));
+    }
+
+    @Test
+    public void testShiftMask() {
+        for (int position = 1; position <= 32; position++) {
+            for (int direction = 0; direction < BoardTopology.NUMBER_OF_DIRECTIONS; direction++) {
+                final int neighbour = BoardTopology.getNeighbour(position, direction);
+                final int expectedMask = neighbour == BoardTopology.NO_SQUARE ? 0
+                        : BoardTopology.getMask(neighbour);
+                assertEquals(expectedMask,
+                        BoardTopology.shiftMask(BoardTopology.getMask(position), direction));
+            }
+        }
+        assertEquals(0xFFFFFFF0, BoardTopology.shiftMask(-1, BoardTopology.DOWN_LEFT)
+                | BoardTopology.shiftMask(-1, BoardTopology.DOWN_RIGHT));
+    }
+}
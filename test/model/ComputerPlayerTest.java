@@ -0,0 +1,65 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import model.ai.search.SearchLimits;
+
+public class ComputerPlayerTest {
+
+    @Test(timeout = 10000)
+    public void testPonderHitMovesAtOnce() throws InterruptedException {
+        ComputerPlayer player = new ComputerPlayer(PieceColor.BLACK, 1, SearchLimits.time(1000));
+        Board board = new Board();
+        player.makeMove(board);
+        player.startPondering(board);
+        assertTrue(player.isPondering());
+
+        // the opponent plays the predicted reply after the whole budget has gone by
+        board.movePiece(player.getLastResult().getPrincipalVariation()[1]);
+        Thread.sleep(1100);
+        Board expectedBoard = new Board(board);
+        long startTime = System.nanoTime();
+        player.makeMove(board);
+
+        assertTrue(System.nanoTime() - startTime < 500000000L);
+        assertEquals(1, player.getPonderHits());
+        assertEquals(0, player.getPonderMisses());
+        assertFalse(player.isPondering());
+        assertTrue(MoveGenerator.getAllPossibleMoves(expectedBoard, PieceColor.BLACK).contains(
+                MoveEncoding.toMoveInterface(player.getLastResult().getMove(), expectedBoard)));
+    }
+
+    @Test(timeout = 10000)
+    public void testPonderMissSearchesAgain() {
+        ComputerPlayer player = new ComputerPlayer(PieceColor.BLACK, 1, SearchLimits.depth(6));
+        Board board = new Board();
+        player.makeMove(board);
+        player.startPondering(board);
+        assertTrue(player.isPondering());
+
+        long predictedReply = player.getLastResult().getPrincipalVariation()[1];
+        // a reply other than the predicted one, after which there is more than one move
+        for (long reply : MoveGenerator.generateMoves(board, PieceColor.WHITE)) {
+            Board afterReply = new Board(board);
+            afterReply.movePiece(reply);
+            if (reply != predictedReply
+                    && MoveGenerator.generateMoves(afterReply, PieceColor.BLACK).length > 1) {
+                board.movePiece(reply);
+                break;
+            }
+        }
+        Board expectedBoard = new Board(board);
+        player.makeMove(board);
+
+        assertEquals(0, player.getPonderHits());
+        assertEquals(1, player.getPonderMisses());
+        assertFalse(player.isPondering());
+        assertEquals(6, player.getLastResult().getDepth());
+        assertTrue(MoveGenerator.getAllPossibleMoves(expectedBoard, PieceColor.BLACK).contains(
+                MoveEncoding.toMoveInterface(player.getLastResult().getMove(), expectedBoard)));
+    }
+}
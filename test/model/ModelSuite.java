@@ -8,15 +8,28 @@ import model.ai.evaluation.BoardEvaluatorSummatorTest;
 import model.ai.evaluation.GameOverEvaluatorTest;
 import model.ai.evaluation.KingCountEvaluatorTest;
 import model.ai.evaluation.PawnCountEvaluatorTest;
-import model.ai.search.AlphaBetaSearchNodeTest;
 import model.ai.search.AlphaBetaSearchTest;
+import model.ai.search.EngineTest;
+import model.ai.search.HistoryTableTest;
+import model.ai.search.IterativeDeepeningSearchTest;
+import model.ai.search.MovePickerTest;
+import model.ai.search.TranspositionTableTest;
+import model.fuzz.GeneratorFuzzerTest;
+import model.perft.PerftTest;
+import model.positions.PositionFileTest;
+import model.positions.RandomPositionGeneratorTest;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ PieceTest.class, SquareTest.class, MoveTest.class, PieceColorTest.class,
         SingleJumpTest.class, MultiJumpTest.class, NullPieceTest.class, BoardTest.class,
-        MoveValidatorTest.class, MoveGeneratorTest.class, BoardEvaluatorSummatorTest.class,
-        BackRowCountEvaluatorTest.class, GameOverEvaluatorTest.class, KingCountEvaluatorTest.class,
-        PawnCountEvaluatorTest.class, AlphaBetaSearchNodeTest.class, AlphaBetaSearchTest.class })
+        BoardTopologyTest.class, MoveValidatorTest.class, MoveGeneratorTest.class,
+        MoveEncodingTest.class, BoardNotationTest.class, ComputerPlayerTest.class,
+        BoardEvaluatorSummatorTest.class, BackRowCountEvaluatorTest.class,
+        GameOverEvaluatorTest.class, KingCountEvaluatorTest.class, PawnCountEvaluatorTest.class,
+        AlphaBetaSearchTest.class, MovePickerTest.class, TranspositionTableTest.class,
+        IterativeDeepeningSearchTest.class, HistoryTableTest.class, EngineTest.class,
+        PerftTest.class, GeneratorFuzzerTest.class, RandomPositionGeneratorTest.class,
+        PositionFileTest.class })
 
 public class ModelSuite {
 }
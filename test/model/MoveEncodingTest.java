@@ -0,0 +1,72 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class MoveEncodingTest {
+
+    @Test
+    public void testEncode() {
+        long move = MoveEncoding.encode(32, 1, 0, false);
+        assertEquals(32, MoveEncoding.getStartingPosition(move));
+        assertEquals(1, MoveEncoding.getEndingPosition(move));
+        assertEquals(0, MoveEncoding.getCapturedMask(move));
+        assertFalse(MoveEncoding.isCapture(move));
+        assertFalse(MoveEncoding.isPromotion(move));
+        assertNotEquals(MoveEncoding.NO_MOVE, move);
+
+        int capturedMask = BoardTopology.getMask(32) | BoardTopology.getMask(6);
+        move = MoveEncoding.encode(1, 29, capturedMask, true);
+        assertEquals(1, MoveEncoding.getStartingPosition(move));
+        assertEquals(29, MoveEncoding.getEndingPosition(move));
+        assertEquals(capturedMask, MoveEncoding.getCapturedMask(move));
+        assertTrue(MoveEncoding.isCapture(move));
+        assertTrue(MoveEncoding.isPromotion(move));
+    }
+
+    @Test
+    public void testEncodeMoveInterface() {
+        Board board = new Board(Arrays.asList(23, 15, 6), Arrays.asList(26));
+        MultiJump multiJump = new MultiJump(26, 1, Arrays.asList(19, 10), board);
+
+        long move = MoveEncoding.encode(multiJump);
+        assertEquals(26, MoveEncoding.getStartingPosition(move));
+        assertEquals(1, MoveEncoding.getEndingPosition(move));
+        assertEquals(BoardTopology.getMask(23) | BoardTopology.getMask(15)
+                | BoardTopology.getMask(6), MoveEncoding.getCapturedMask(move));
+        assertTrue(MoveEncoding.isPromotion(move));
+
+        move = MoveEncoding.encode(new Move(12, 16, new Board()));
+        assertEquals(MoveEncoding.encode(12, 16, 0, false), move);
+    }
+
+    @Test
+    public void testToMoveInterface() {
+        Board board = new Board(Arrays.asList(23, 15, 6), Arrays.asList(26));
+        MultiJump expectedMultiJump = new MultiJump(26, 1, Arrays.asList(19, 10), board);
+        assertEquals(expectedMultiJump,
+                MoveEncoding.toMoveInterface(MoveEncoding.encode(expectedMultiJump), board));
+
+        SingleJump expectedJump = new SingleJump(26, 19, board);
+        assertEquals(expectedJump,
+                MoveEncoding.toMoveInterface(MoveEncoding.encode(expectedJump), board));
+
+        board = new Board();
+        Move expectedMove = new Move(9, 14, board);
+        assertEquals(expectedMove,
+                MoveEncoding.toMoveInterface(MoveEncoding.encode(expectedMove), board));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("9-14", MoveEncoding.toString(MoveEncoding.encode(9, 14, 0, false)));
+        assertEquals("26x1", MoveEncoding.toString(
+                MoveEncoding.encode(26, 1, BoardTopology.getMask(23), false)));
+    }
+}
@@ -1,6 +1,9 @@
 package model;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -12,14 +15,64 @@ import java.util.Set;
 
 public class MoveGeneratorTest {
 
+    @Test
+    public void testCountNonJumpMoves() {
+        assertEquals(7, MoveGenerator.countNonJumpMoves(new Board(), PieceColor.BLACK));
+
+        // the man on 5 only has 5-9, and the king on 32 only 32-27 and 32-28
+        Board board = BoardNotation.parse("B:WK32:B5");
+        assertEquals(1, MoveGenerator.countNonJumpMoves(board, PieceColor.BLACK));
+        assertEquals(2, MoveGenerator.countNonJumpMoves(board, PieceColor.WHITE));
+
+        // the count always agrees with the move generator
+        board = new Board(Arrays.asList(1, 7, 10, 11, 29), Arrays.asList(14, 16, 22, 25, 32));
+        board.kingPiece(29);
+        board.kingPiece(14);
+        for (final PieceColor color : PieceColor.values()) {
+            assertEquals(MoveGenerator.getNonJumpMoves(board, color).size(),
+                    MoveGenerator.countNonJumpMoves(board, color));
+        }
+    }
+
+    @Test
+    public void testGenerateMoves_intoBuffer() {
+        final Board board = new Board();
+        final long[] moves = new long[MoveGenerator.MAX_MOVES];
+
+        final int numberOfMoves = MoveGenerator.generateMoves(board, PieceColor.BLACK, moves);
+
+        final long[] expectedMoves = { MoveEncoding.encode(9, 13, 0, false),
+                MoveEncoding.encode(9, 14, 0, false), MoveEncoding.encode(10, 14, 0, false),
+                MoveEncoding.encode(10, 15, 0, false), MoveEncoding.encode(11, 15, 0, false),
+                MoveEncoding.encode(11, 16, 0, false), MoveEncoding.encode(12, 16, 0, false) };
+        assertEquals(expectedMoves.length, numberOfMoves);
+        assertArrayEquals(expectedMoves, Arrays.copyOf(moves, numberOfMoves));
+
+        // the same position always gives the same order, and the buffer is reused
+        assertEquals(numberOfMoves, MoveGenerator.generateMoves(board, PieceColor.BLACK, moves));
+        assertArrayEquals(expectedMoves, Arrays.copyOf(moves, numberOfMoves));
+        assertArrayEquals(expectedMoves, MoveGenerator.generateMoves(board, PieceColor.BLACK));
+    }
+
+    @Test
+    public void testGenerateMoves_kingJumpsBackToItsStartingSquare() {
+        final Board board = new Board(Arrays.asList(14), Arrays.asList(17, 18, 25, 26));
+        board.kingPiece(14);
+
+        // both directions round the loop capture the same pieces and count as one move
+        final long[] expectedMoves = { MoveEncoding.encode(14, 14,
+                (1 << 16) | (1 << 17) | (1 << 24) | (1 << 25), false) };
+        assertArrayEquals(expectedMoves, MoveGenerator.generateMoves(board, PieceColor.BLACK));
+    }
+
     @Test
     public void testGetAllMoves_withKings() {
         final List<Integer> blackPositions = Arrays.asList(10, 11, 13, 18, 25, 27, 30);
         final List<Integer> whitePositions = Arrays.asList(1, 7, 8, 16, 22, 23, 24);
         final Board board = new Board(blackPositions, whitePositions);
-        board.getPiece(10).kingMe();
-        board.getPiece(23).kingMe();
-        board.getPiece(25).kingMe();
+        board.kingPiece(10);
+        board.kingPiece(23);
+        board.kingPiece(25);
 
         Set<MoveInterface> expectedMoves = new HashSet<>();
 
@@ -149,7 +202,7 @@ public class MoveGeneratorTest {
         blackPositions = Arrays.asList(1, 4, 18);
         whitePositions = Arrays.asList(12, 15, 29);
         board = new Board(blackPositions, whitePositions);
-        board.getPiece(18).kingMe();
+        board.kingPiece(18);
 
         // expected black moves
         expectedNonJumpMovesSet = new HashSet<>();
@@ -173,4 +226,51 @@ public class MoveGeneratorTest {
         actualNonJumpMovesSet = MoveGenerator.getNonJumpMoves(board, PieceColor.WHITE);
         assertEquals(expectedNonJumpMovesSet, actualNonJumpMovesSet);
     }
+
+    @Test
+    public void testIsLegalMove_anyOrderOfTheSameJumps() {
+        // the king on 23 can take the four men clockwise or anticlockwise
+        final Board board = BoardNotation.parse("B:W1,10,11,18,19:BK23");
+        final MoveInterface clockwise = MoveBuilder.buildMove("23x14x7x16x23", board);
+        final MoveInterface anticlockwise = MoveBuilder.buildMove("23x16x7x14x23", board);
+
+        assertEquals(1, MoveGenerator.generateMoves(board, PieceColor.BLACK).length);
+        assertTrue(MoveGenerator.isLegalMove(board, PieceColor.BLACK,
+                MoveEncoding.encode(clockwise)));
+        assertTrue(MoveGenerator.isLegalMove(board, PieceColor.BLACK,
+                MoveEncoding.encode(anticlockwise)));
+        assertFalse(MoveGenerator.isLegalMove(board, PieceColor.BLACK,
+                MoveEncoding.encode(new Move(23, 27, board))));
+    }
+
+    @Test
+    public void testHasAnyLegalMove() {
+        Board board = new Board();
+        assertTrue(MoveGenerator.hasAnyLegalMove(board, PieceColor.BLACK));
+        assertTrue(MoveGenerator.hasAnyLegalMove(board, PieceColor.WHITE));
+        assertFalse(MoveGenerator.hasJumpMove(board, PieceColor.BLACK));
+
+        // the black man on 5 is blocked, and cannot jump because 14 is taken
+        board = new Board(Arrays.asList(5), Arrays.asList(9, 14));
+        assertFalse(MoveGenerator.hasAnyLegalMove(board, PieceColor.BLACK));
+        assertTrue(MoveGenerator.hasAnyLegalMove(board, PieceColor.WHITE));
+
+        // a king can still move backwards
+        board.kingPiece(5);
+        assertTrue(MoveGenerator.hasAnyLegalMove(board, PieceColor.BLACK));
+
+        // a man that can only jump
+        board = new Board(Arrays.asList(5), Arrays.asList(9));
+        assertTrue(MoveGenerator.hasJumpMove(board, PieceColor.BLACK));
+        assertTrue(MoveGenerator.hasAnyLegalMove(board, PieceColor.BLACK));
+
+        // the answer always agrees with the move generator
+        board = new Board(Arrays.asList(1, 7, 10, 11, 29), Arrays.asList(14, 16, 22, 25, 32));
+        for (final PieceColor color : PieceColor.values()) {
+            assertEquals(MoveGenerator.generateMoves(board, color).length > 0,
+                    MoveGenerator.hasAnyLegalMove(board, color));
+            assertEquals(MoveGenerator.getJumpMoves(board, color).size() > 0,
+                    MoveGenerator.hasJumpMove(board, color));
+        }
+    }
 }
@@ -139,7 +139,7 @@ public class MoveValidatorTest {
         final Board testBoard = new Board(Arrays.asList(17, 18, 19),
                 Arrays.asList(startingPosition));
 
-        testBoard.getPiece(startingPosition).kingMe();
+        testBoard.kingPiece(startingPosition);
 
         assertTrue(testBoard.getPiece(startingPosition).isKing());
 
@@ -154,7 +154,7 @@ public class MoveValidatorTest {
         final int startingPosition = 23;
         final Board testBoard = new Board(Arrays.asList(18, 19, 26, 27),
                 Arrays.asList(startingPosition));
-        testBoard.getPiece(startingPosition).kingMe();
+        testBoard.kingPiece(startingPosition);
 
         SingleJump forwardJump = new SingleJump(startingPosition, 30, testBoard);
         assertTrue(MoveValidator.isValidMove(forwardJump));
@@ -173,7 +173,7 @@ public class MoveValidatorTest {
     public void testKingCanMoveBothDirections() {
         final int startingPosition = 23;
         final Board testBoard = new Board(new ArrayList<>(), Arrays.asList(startingPosition));
-        testBoard.getPiece(startingPosition).kingMe();
+        testBoard.kingPiece(startingPosition);
 
         Move forwardMove = new Move(startingPosition, 26, testBoard);
         assertTrue(MoveValidator.isValidMove(forwardMove));
@@ -53,10 +53,4 @@ public class NullPieceTest {
         assertFalse(this.instance.isWhite());
     }
 
-    @Test
-    public void testKingMe() {
-        this.instance.kingMe();
-        assertFalse(this.instance.isKing());
-    }
-
 }
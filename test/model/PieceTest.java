@@ -4,6 +4,7 @@ package model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -45,12 +46,26 @@ public class PieceTest {
     }
 
     @Test
-    public void testKingMe() {
+    public void testGetInstance() {
+        assertSame(Piece.getInstance(PieceColor.BLACK), Piece.getInstance(PieceColor.BLACK));
+        assertSame(Piece.getInstance(PieceColor.WHITE, true),
+                Piece.getInstance(PieceColor.WHITE, true));
+        assertEquals(this.blackPiece, Piece.getInstance(PieceColor.BLACK));
+        assertFalse(Piece.getInstance(PieceColor.BLACK).isKing());
+        assertTrue(Piece.getInstance(PieceColor.BLACK, true).isKing());
+        assertTrue(Piece.getInstance(PieceColor.WHITE, true).isWhite());
+    }
+
+    @Test
+    public void testGetKing() {
         assertFalse(this.blackPiece.isKing());
 
-        this.blackPiece.kingMe();
+        Piece blackKing = this.blackPiece.getKing();
 
-        assertTrue(this.blackPiece.isKing());
+        assertTrue(blackKing.isKing());
+        assertTrue(blackKing.isBlack());
+        assertFalse(this.blackPiece.isKing());
+        assertSame(Piece.getInstance(PieceColor.BLACK, true), blackKing);
     }
 
     @Test
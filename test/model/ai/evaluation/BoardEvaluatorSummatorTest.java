@@ -37,8 +37,8 @@ public class BoardEvaluatorSummatorTest {
     @Test
     public void testEvaluateBoard_PawnAndKingCount() {
         Board board = new Board(Arrays.asList(1, 2, 3, 4), Arrays.asList(30));
-        board.getPiece(1).kingMe();
-        board.getPiece(2).kingMe();
+        board.kingPiece(1);
+        board.kingPiece(2);
 
         BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
         boardAgg.addBoardEvaluator(new KingCountEvaluator());
@@ -55,8 +55,8 @@ public class BoardEvaluatorSummatorTest {
     @Test
     public void testEvaluateBoard_PawnCountAndKingCountAndBackRowCount() {
         Board board = new Board();
-        board.getPiece(1).kingMe();
-        board.getPiece(2).kingMe();
+        board.kingPiece(1);
+        board.kingPiece(2);
         board.removePiece(32);
 
         BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
@@ -11,8 +11,8 @@ public class KingCountEvaluatorTest {
     @Test
     public void testEvaluateBoard() {
         Board board = new Board();
-        board.getPiece(1).kingMe();
-        board.getPiece(2).kingMe();
+        board.kingPiece(1);
+        board.kingPiece(2);
 
         BoardEvaluator kingEvaluator = new KingCountEvaluator();
 
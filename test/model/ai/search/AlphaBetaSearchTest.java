@@ -1,13 +1,18 @@
 package model.ai.search;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
 import java.util.Arrays;
 
 import model.Board;
+import model.BoardNotation;
 import model.Move;
+import model.MoveEncoding;
+import model.MoveGenerator;
 import model.MoveInterface;
 import model.MultiJump;
 import model.PieceColor;
@@ -16,6 +21,7 @@ import model.ai.evaluation.BoardEvaluatorAggregator;
 import model.ai.evaluation.BoardEvaluatorSummator;
 import model.ai.evaluation.KingCountEvaluator;
 import model.ai.evaluation.PawnCountEvaluator;
+import model.positions.RandomPositionGenerator;
 
 public class AlphaBetaSearchTest {
 
@@ -38,14 +44,14 @@ public class AlphaBetaSearchTest {
     @Test(timeout = 5000)
     public void testGetBestMove_PieceCountEvaluator_ManyKingsHighBranchFactor() {
         Board board = new Board(Arrays.asList(5, 6, 7, 8), Arrays.asList(25, 26, 27, 28));
-        board.getPiece(5).kingMe();
-        board.getPiece(6).kingMe();
-        board.getPiece(7).kingMe();
-        board.getPiece(8).kingMe();
-        board.getPiece(25).kingMe();
-        board.getPiece(26).kingMe();
-        board.getPiece(27).kingMe();
-        board.getPiece(28).kingMe();
+        board.kingPiece(5);
+        board.kingPiece(6);
+        board.kingPiece(7);
+        board.kingPiece(8);
+        board.kingPiece(25);
+        board.kingPiece(26);
+        board.kingPiece(27);
+        board.kingPiece(28);
 
         BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
         boardAgg.addBoardEvaluator(new PawnCountEvaluator());
@@ -59,10 +65,10 @@ public class AlphaBetaSearchTest {
     public void testGetBestMove_PieceCountEvaluator_MaximumComplexity() {
         Board board = new Board(Arrays.asList(1, 4, 6, 9, 10, 11, 13, 16, 23, 32),
                 Arrays.asList(7, 14, 15, 22, 24, 25, 26, 27, 30, 31));
-        board.getPiece(7).kingMe();
-        board.getPiece(23).kingMe();
-        board.getPiece(32).kingMe();
-        board.getPiece(14).kingMe();
+        board.kingPiece(7);
+        board.kingPiece(23);
+        board.kingPiece(32);
+        board.kingPiece(14);
 
         BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
         boardAgg.addBoardEvaluator(new PawnCountEvaluator());
@@ -79,8 +85,8 @@ public class AlphaBetaSearchTest {
     public void testGetBestMove_PieceCountEvaluator_MediumComplexity() {
         Board board = new Board(Arrays.asList(1, 4, 9, 10, 11, 16, 23),
                 Arrays.asList(7, 14, 15, 20, 22, 25, 26, 27));
-        board.getPiece(7).kingMe();
-        board.getPiece(23).kingMe();
+        board.kingPiece(7);
+        board.kingPiece(23);
 
         BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
         boardAgg.addBoardEvaluator(new PawnCountEvaluator());
@@ -109,6 +115,209 @@ public class AlphaBetaSearchTest {
         assertEquals(expectedBestMove, actualBestMove);
     }
 
+    @Test
+    public void testGetBestMove_SharedTranspositionTable() {
+        Board board = new Board(Arrays.asList(1, 4, 9, 10, 11, 16, 23),
+                Arrays.asList(7, 14, 15, 20, 22, 25, 26, 27));
+        board.kingPiece(7);
+        board.kingPiece(23);
+
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+        TranspositionTable table = new TranspositionTable(1);
+
+        // searching again with the results of the first search finds the same move
+        MoveInterface expectedBestMove = new MultiJump(23, 21, Arrays.asList(30), board);
+        for (int i = 0; i < 2; i++) {
+            AlphaBetaSearch searcher = new AlphaBetaSearch(board, PieceColor.BLACK, boardAgg, 8,
+                    table);
+            assertEquals(expectedBestMove, searcher.alphaBetaSearch());
+        }
+        assertTrue(table.getHits() > 0);
+    }
+
+    @Test
+    public void testGetFirstMoveCutoffRate() {
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+        boardAgg.addBoardEvaluator(new KingCountEvaluator());
+
+        AlphaBetaSearch searcher = new AlphaBetaSearch(new Board(), PieceColor.BLACK, boardAgg, 8);
+        searcher.alphaBetaSearch();
+
+        assertTrue(searcher.getCutoffs() > 0);
+        assertTrue(searcher.getFirstMoveCutoffRate() > 50);
+        assertTrue(searcher.getFirstMoveCutoffRate() <= 100);
+    }
+
+    @Test
+    public void testSearch_ExtensionsStayWithinTheBudget() {
+        // 10x26 is the only move, and 30x23 the only answer
+        Board board = BoardNotation.parse("B:W14,21,22,30:B1,2,10");
+
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+
+        AlphaBetaSearch extended = new AlphaBetaSearch(board, PieceColor.BLACK, boardAgg, 4);
+        SearchResult result = extended.search();
+        assertTrue(extended.getSingleReplyExtensions() >= 2);
+        assertEquals(6, result.getPrincipalVariation().length);
+
+        AlphaBetaSearch opening = new AlphaBetaSearch(new Board(), PieceColor.BLACK, boardAgg, 4);
+        opening.search();
+        assertTrue(opening.getCaptureExtensions() > 0);
+
+        SearchOptions withoutExtensions = new SearchOptions();
+        withoutExtensions.setMaxExtensionsPerLine(0);
+        AlphaBetaSearch notExtended = new AlphaBetaSearch(board, PieceColor.BLACK, boardAgg, 4,
+                new TranspositionTable(1), withoutExtensions);
+        assertEquals(4, notExtended.search().getPrincipalVariation().length);
+        assertEquals(0, notExtended.getSingleReplyExtensions());
+        assertEquals(0, notExtended.getCaptureExtensions());
+
+        // a budget of one extends the first forced capture of the line, but not the second
+        SearchOptions oneExtension = new SearchOptions();
+        oneExtension.setMaxExtensionsPerLine(1);
+        AlphaBetaSearch extendedOnce = new AlphaBetaSearch(board, PieceColor.BLACK, boardAgg, 4,
+                new TranspositionTable(1), oneExtension);
+        assertEquals(5, extendedOnce.search().getPrincipalVariation().length);
+        assertEquals(1, extendedOnce.getSingleReplyExtensions());
+    }
+
+    @Test
+    public void testSearch_ExtendsALoneQuietMove() {
+        // 5-9 is black's only move, and no capture is in sight
+        Board board = BoardNotation.parse("B:WK32:B5");
+
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+
+        AlphaBetaSearch extended = new AlphaBetaSearch(board, PieceColor.BLACK, boardAgg, 2);
+        SearchResult result = extended.search();
+        assertEquals(MoveEncoding.encode(5, 9, 0, false), result.getMove());
+        assertTrue(extended.getSingleReplyExtensions() > 0);
+        assertEquals(0, extended.getCaptureExtensions());
+
+        SearchOptions withoutSingleReplies = new SearchOptions();
+        withoutSingleReplies.setSingleReplyExtensions(false);
+        AlphaBetaSearch notExtended = new AlphaBetaSearch(board, PieceColor.BLACK, boardAgg, 2,
+                new TranspositionTable(1), withoutSingleReplies);
+        notExtended.search();
+        assertEquals(0, notExtended.getSingleReplyExtensions());
+    }
+
+    @Test
+    public void testSearch_PrincipalVariation() {
+        Board board = new Board(Arrays.asList(1, 7, 10, 11), Arrays.asList(14, 16, 22, 25));
+
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+        boardAgg.addBoardEvaluator(new KingCountEvaluator());
+
+        SearchResult result = new AlphaBetaSearch(board, PieceColor.BLACK, boardAgg, 6).search();
+
+        assertEquals(6, result.getDepth());
+        long[] principalVariation = result.getPrincipalVariation();
+        assertTrue(principalVariation.length > 1);
+        assertEquals(MoveEncoding.encode(new MultiJump(10, 26, Arrays.asList(17), board)),
+                result.getMove());
+        assertEquals(result.getMove(), principalVariation[0]);
+
+        // every move of the variation is legal in turn
+        Board replayed = new Board(board);
+        PieceColor color = PieceColor.BLACK;
+        for (long move : principalVariation) {
+            long[] legalMoves = MoveGenerator.generateMoves(replayed, color);
+            Arrays.sort(legalMoves);
+            assertTrue(MoveEncoding.toString(move), Arrays.binarySearch(legalMoves, move) >= 0);
+            replayed.movePiece(move);
+            color = color.getOppositeColor();
+        }
+    }
+
+    @Test
+    public void testSearch_QuiescenceSeesCapturesBeyondTheDepthLimit() {
+        // 1-6 is generated first and loses a man to 10x1
+        Board board = BoardNotation.parse("B:W10,32:B1,5");
+
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+
+        AlphaBetaSearch searcher = new AlphaBetaSearch(board, PieceColor.BLACK, boardAgg, 1);
+        SearchResult result = searcher.search();
+
+        Board afterMove = new Board(board);
+        afterMove.movePiece(result.getMove());
+        assertFalse(MoveGenerator.hasJumpMove(afterMove, PieceColor.WHITE));
+        assertTrue(searcher.getQuiescenceNodes() > 0);
+    }
+
+    @Test
+    public void testSearch_SelectivityCanBeSwitchedOff() {
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+        boardAgg.addBoardEvaluator(new KingCountEvaluator());
+
+        SearchOptions selectiveOptions = new SearchOptions();
+        selectiveOptions.setMaxExtensionsPerLine(0);
+        AlphaBetaSearch selective = new AlphaBetaSearch(new Board(), PieceColor.BLACK, boardAgg,
+                9, new TranspositionTable(1), selectiveOptions);
+        selective.search();
+        AlphaBetaSearch fullWidth = new AlphaBetaSearch(new Board(), PieceColor.BLACK, boardAgg,
+                9, new TranspositionTable(1), SearchOptions.fullWidth());
+        fullWidth.search();
+
+        assertTrue(selective.getLateMoveReductions() > 0);
+        assertTrue(selective.getProbCutTries() > 0);
+        assertTrue(selective.getNodes() < fullWidth.getNodes());
+        assertEquals(0, fullWidth.getLateMoveReductions());
+        assertEquals(0, fullWidth.getFutilityPrunes());
+        assertEquals(0, fullWidth.getProbCutTries());
+        assertEquals(0, fullWidth.getSingleReplyExtensions());
+        assertEquals(0, fullWidth.getCaptureExtensions());
+    }
+
+    @Test
+    public void testSearch_YoungBrothersWaitFindsTheSerialScore() {
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+        boardAgg.addBoardEvaluator(new KingCountEvaluator());
+        SearchOptions splitOptions = SearchOptions.fullWidth();
+        splitOptions.setThreads(3);
+        splitOptions.setParallelMode(ParallelMode.YOUNG_BROTHERS_WAIT);
+
+        RandomPositionGenerator positions = new RandomPositionGenerator(5, 8, 40, null, null);
+        for (int i = 0; i < 10; i++) {
+            Board board = positions.next();
+            SearchResult serial = new AlphaBetaSearch(board, board.getSideToMove(), boardAgg, 7,
+                    new TranspositionTable(1), SearchOptions.fullWidth()).search();
+            AlphaBetaSearch split = new AlphaBetaSearch(board, board.getSideToMove(), boardAgg,
+                    7, new TranspositionTable(1), splitOptions);
+            SearchResult result = split.search();
+
+            assertEquals(serial.getScore(), result.getScore());
+            assertTrue(MoveGenerator.getAllPossibleMoves(board, board.getSideToMove())
+                    .contains(MoveEncoding.toMoveInterface(result.getMove(), board)));
+            assertTrue(split.getNodes() > 0);
+        }
+    }
+
+    @Test
+    public void testSearchLeavesStartingBoardUnchanged() {
+        Board board = new Board(Arrays.asList(1, 4, 9, 10, 11, 16, 23),
+                Arrays.asList(7, 14, 15, 20, 22, 25, 26, 27));
+        board.kingPiece(7);
+        board.kingPiece(23);
+        Board expectedBoard = new Board(board);
+
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+
+        new AlphaBetaSearch(board, PieceColor.WHITE, boardAgg, 6).alphaBetaSearch();
+
+        assertEquals(expectedBoard, board);
+    }
+
     @Test
     public void testGetMove_baitTheTripleJump() {
         Board board = new Board(Arrays.asList(1, 6, 9), Arrays.asList(11, 17, 19, 27));
@@ -0,0 +1,135 @@
+package model.ai.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import model.Board;
+import model.MoveGenerator;
+import model.PieceColor;
+import model.ai.evaluation.BoardEvaluatorAggregator;
+import model.ai.evaluation.BoardEvaluatorSummator;
+import model.ai.evaluation.KingCountEvaluator;
+import model.ai.evaluation.PawnCountEvaluator;
+
+public class EngineTest {
+
+    private static Engine createEngine(SearchOptions options) {
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+        boardAgg.addBoardEvaluator(new KingCountEvaluator());
+        return new Engine(boardAgg, 1, options);
+    }
+
+    private static int sumHistoryScores(Engine engine, Board board, PieceColor color) {
+        int sum = 0;
+        for (long move : MoveGenerator.generateMoves(board, color)) {
+            sum += engine.getHistoryTable().getScore(color, move);
+        }
+        return sum;
+    }
+
+    @Test
+    public void testHistoryIsAgedOrClearedBetweenMoves() {
+        Board board = new Board();
+        for (boolean aging : new boolean[] { true, false }) {
+            SearchOptions options = new SearchOptions();
+            options.setHistoryAging(aging);
+            Engine engine = createEngine(options);
+            engine.createSearch(board, PieceColor.BLACK).search(SearchLimits.depth(8));
+            int learnt = sumHistoryScores(engine, board, PieceColor.BLACK);
+            assertTrue(learnt > 0);
+
+            // a search of one ply has no cutoffs, so it only ages or clears the history
+            engine.createSearch(board, PieceColor.BLACK).search(SearchLimits.depth(1));
+            int kept = sumHistoryScores(engine, board, PieceColor.BLACK);
+            if (aging) {
+                assertTrue(kept > 0);
+                assertTrue(kept <= learnt / 2);
+            } else {
+                assertEquals(0, kept);
+            }
+        }
+    }
+
+    @Test
+    public void testNewGameForgetsEarlierSearches() {
+        Engine engine = createEngine(new SearchOptions());
+        Board board = new Board();
+        engine.createSearch(board, PieceColor.BLACK).search(SearchLimits.depth(8));
+        assertTrue(engine.getTranspositionTable().getStores() > 0);
+
+        engine.newGame();
+
+        assertEquals(0, engine.getTranspositionTable().getStores());
+        assertEquals(0, sumHistoryScores(engine, board, PieceColor.BLACK));
+    }
+
+    @Test(timeout = 20000)
+    public void testRunsOneSearchAtATime() throws InterruptedException {
+        Engine engine = createEngine(new SearchOptions());
+        Board board = new Board();
+        final IterativeDeepeningSearch running = engine.createSearch(board, PieceColor.BLACK);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                running.search(SearchLimits.depth(30));
+            }
+        });
+        thread.start();
+        while (!engine.isSearching()) {
+            Thread.yield();
+        }
+
+        try {
+            engine.createSearch(board, PieceColor.WHITE).search(SearchLimits.depth(2));
+            fail("a second search started while the first ran");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        running.stop();
+        thread.join();
+
+        assertFalse(engine.isSearching());
+        assertNotNull(engine.createSearch(board, PieceColor.BLACK).search(SearchLimits.depth(2)));
+    }
+
+    @Test
+    public void testSearchesShareTheTables() {
+        Engine engine = createEngine(new SearchOptions());
+        Board board = new Board();
+        IterativeDeepeningSearch coldSearch = engine.createSearch(board, PieceColor.BLACK);
+        coldSearch.search(SearchLimits.depth(8));
+        assertTrue(sumHistoryScores(engine, board, PieceColor.BLACK) > 0);
+
+        IterativeDeepeningSearch warmSearch = engine.createSearch(board, PieceColor.BLACK);
+        warmSearch.search(SearchLimits.depth(8));
+
+        assertTrue(warmSearch.getNodes() < coldSearch.getNodes());
+        assertEquals(coldSearch.getResult().getMove(), warmSearch.getResult().getMove());
+    }
+
+    @Test(timeout = 20000)
+    public void testThreadsLastUntilShutdown() {
+        Board board = new Board();
+        for (ParallelMode mode : ParallelMode.values()) {
+            SearchOptions options = new SearchOptions();
+            options.setThreads(2);
+            options.setParallelMode(mode);
+            Engine engine = createEngine(options);
+
+            assertNotNull(engine.createSearch(board, PieceColor.BLACK).search(SearchLimits
+                    .depth(6)));
+            assertNotNull(engine.createSearch(board, PieceColor.BLACK).search(SearchLimits
+                    .depth(6)));
+            engine.shutdown();
+            assertNotNull(engine.createSearch(board, PieceColor.BLACK).search(SearchLimits
+                    .depth(6)));
+            engine.shutdown();
+        }
+    }
+}
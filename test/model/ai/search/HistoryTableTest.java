@@ -0,0 +1,41 @@
+package model.ai.search;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import model.MoveEncoding;
+import model.PieceColor;
+
+public class HistoryTableTest {
+    private static final long BLACK_MOVE = MoveEncoding.encode(9, 13, 0, false);
+    private static final long WHITE_MOVE = MoveEncoding.encode(22, 18, 0, false);
+
+    @Test
+    public void testAgeAndClear() {
+        final HistoryTable history = new HistoryTable();
+        history.recordCutoff(PieceColor.BLACK, BLACK_MOVE, 3, WHITE_MOVE);
+
+        history.age();
+        assertEquals(4, history.getScore(PieceColor.BLACK, BLACK_MOVE));
+        assertEquals(BLACK_MOVE, history.getCounterMove(PieceColor.BLACK, WHITE_MOVE));
+
+        history.clear();
+        assertEquals(0, history.getScore(PieceColor.BLACK, BLACK_MOVE));
+        assertEquals(MoveEncoding.NO_MOVE, history.getCounterMove(PieceColor.BLACK, WHITE_MOVE));
+    }
+
+    @Test
+    public void testRecordCutoff() {
+        final HistoryTable history = new HistoryTable();
+        history.recordCutoff(PieceColor.BLACK, BLACK_MOVE, 3, WHITE_MOVE);
+        history.recordCutoff(PieceColor.BLACK, BLACK_MOVE, 2, MoveEncoding.NO_MOVE);
+
+        assertEquals(13, history.getScore(PieceColor.BLACK, BLACK_MOVE));
+        assertEquals(0, history.getScore(PieceColor.WHITE, BLACK_MOVE));
+        assertEquals(BLACK_MOVE, history.getCounterMove(PieceColor.BLACK, WHITE_MOVE));
+        assertEquals(MoveEncoding.NO_MOVE, history.getCounterMove(PieceColor.WHITE, WHITE_MOVE));
+        assertEquals(MoveEncoding.NO_MOVE,
+                history.getCounterMove(PieceColor.BLACK, MoveEncoding.NO_MOVE));
+    }
+}
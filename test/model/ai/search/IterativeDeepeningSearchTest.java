@@ -0,0 +1,154 @@
+package model.ai.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import model.Board;
+import model.MoveEncoding;
+import model.MoveGenerator;
+import model.MoveInterface;
+import model.MultiJump;
+import model.PieceColor;
+import model.SingleJump;
+import model.ai.evaluation.BoardEvaluatorAggregator;
+import model.ai.evaluation.BoardEvaluatorSummator;
+import model.ai.evaluation.KingCountEvaluator;
+import model.ai.evaluation.PawnCountEvaluator;
+import model.positions.RandomPositionGenerator;
+
+public class IterativeDeepeningSearchTest {
+
+    private static BoardEvaluatorAggregator createEvaluator() {
+        BoardEvaluatorAggregator boardAgg = new BoardEvaluatorSummator();
+        boardAgg.addBoardEvaluator(new PawnCountEvaluator());
+        boardAgg.addBoardEvaluator(new KingCountEvaluator());
+        return boardAgg;
+    }
+
+    private static IterativeDeepeningSearch createSearch(Board board, PieceColor color) {
+        return new IterativeDeepeningSearch(board, color, createEvaluator(),
+                new TranspositionTable(1));
+    }
+
+    @Test
+    public void testSearch_DepthLimit() {
+        Board board = new Board(Arrays.asList(1, 7, 10, 11), Arrays.asList(14, 16, 22, 25));
+        IterativeDeepeningSearch search = createSearch(board, PieceColor.BLACK);
+
+        MoveInterface expectedBestMove = new MultiJump(10, 26, Arrays.asList(17), board);
+        assertEquals(expectedBestMove, search.search(SearchLimits.depth(8)));
+        assertEquals(8, search.getCompletedDepth());
+        assertTrue(search.getNodes() > 0);
+    }
+
+    @Test
+    public void testSearch_MtdfFindsThePvsScore() {
+        RandomPositionGenerator positions = new RandomPositionGenerator(3, 8, 40, null, null);
+        for (int i = 0; i < 10; i++) {
+            Board board = positions.next();
+            SearchResult[] results = new SearchResult[2];
+            for (SearchDriver driver : SearchDriver.values()) {
+                SearchOptions options = SearchOptions.fullWidth();
+                options.setDriver(driver);
+                IterativeDeepeningSearch search = new IterativeDeepeningSearch(board,
+                        board.getSideToMove(), createEvaluator(), new TranspositionTable(1),
+                        options);
+                search.search(SearchLimits.depth(6));
+                results[driver.ordinal()] = search.getResult();
+            }
+
+            assertEquals(results[0].getScore(), results[1].getScore());
+            assertNotEquals(MoveEncoding.NO_MOVE, results[1].getMove());
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testSearch_MultipleThreads() {
+        Board board = new Board(Arrays.asList(1, 7, 10, 11), Arrays.asList(14, 16, 22, 25));
+        MoveInterface expectedBestMove = new MultiJump(10, 26, Arrays.asList(17), board);
+        for (ParallelMode mode : ParallelMode.values()) {
+            SearchOptions options = new SearchOptions();
+            options.setThreads(3);
+            options.setParallelMode(mode);
+            IterativeDeepeningSearch search = new IterativeDeepeningSearch(board,
+                    PieceColor.BLACK, createEvaluator(), new TranspositionTable(1), options);
+
+            assertEquals(expectedBestMove, search.search(SearchLimits.depth(8)));
+            assertEquals(8, search.getCompletedDepth());
+
+            // the other threads stop with the search, whatever depth they have reached
+            assertNotNull(search.search(SearchLimits.time(100)));
+            assertTrue(search.getCompletedDepth() >= 1);
+        }
+    }
+
+    @Test
+    public void testSearch_NodeLimit() {
+        Board board = new Board();
+        IterativeDeepeningSearch search = createSearch(board, PieceColor.BLACK);
+
+        MoveInterface move = search.search(SearchLimits.nodes(20000));
+
+        assertTrue(MoveGenerator.getAllPossibleMoves(board, PieceColor.BLACK).contains(move));
+        assertTrue(search.getCompletedDepth() >= 1);
+        assertTrue(search.getCompletedDepth() < SearchLimits.MAX_DEPTH);
+        assertTrue(search.getNodes() < 20000 + 1024);
+    }
+
+    @Test
+    public void testSearch_NoLegalMove() {
+        Board board = new Board(Arrays.asList(1), Collections.<Integer> emptyList());
+        assertNull(createSearch(board, PieceColor.WHITE).search(SearchLimits.depth(4)));
+    }
+
+    @Test
+    public void testSearch_SingleLegalMoveIsPlayedWithoutSearching() {
+        Board board = new Board(Arrays.asList(1), Arrays.asList(6));
+        IterativeDeepeningSearch search = createSearch(board, PieceColor.BLACK);
+
+        assertEquals(new SingleJump(1, 10, board), search.search(SearchLimits.depth(8)));
+        assertEquals(0, search.getCompletedDepth());
+        assertEquals(0, search.getNodes());
+    }
+
+    @Test(timeout = 5000)
+    public void testSearch_TimeLimit() {
+        Board board = new Board(Arrays.asList(5, 6, 7, 8), Arrays.asList(25, 26, 27, 28));
+        for (int position : Arrays.asList(5, 6, 7, 8, 25, 26, 27, 28)) {
+            board.kingPiece(position);
+        }
+        IterativeDeepeningSearch search = createSearch(board, PieceColor.BLACK);
+
+        long startTime = System.nanoTime();
+        assertNotNull(search.search(SearchLimits.time(100)));
+        assertTrue(System.nanoTime() - startTime < 2000000000L);
+        assertTrue(search.getCompletedDepth() < SearchLimits.MAX_DEPTH);
+    }
+
+    @Test(timeout = 5000)
+    public void testStop() throws InterruptedException {
+        final Board board = new Board();
+        final IterativeDeepeningSearch search = createSearch(board, PieceColor.BLACK);
+        Thread searchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                search.search(SearchLimits.depth(SearchLimits.MAX_DEPTH));
+            }
+        });
+        searchThread.start();
+        Thread.sleep(100);
+        search.stop();
+        searchThread.join();
+
+        assertTrue(search.getCompletedDepth() >= 1);
+        assertTrue(search.getCompletedDepth() < SearchLimits.MAX_DEPTH);
+    }
+}
@@ -0,0 +1,101 @@
+package model.ai.search;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import model.Board;
+import model.MoveEncoding;
+import model.MoveGenerator;
+import model.PieceColor;
+
+public class MovePickerTest {
+    private static final long[] NO_KILLERS = { MoveEncoding.NO_MOVE, MoveEncoding.NO_MOVE };
+
+    private static long[] pickAll(Board board, PieceColor color, long hashMove, long[] killers) {
+        return pickAll(board, color, hashMove, killers, MoveEncoding.NO_MOVE, null);
+    }
+
+    private static long[] pickAll(Board board, PieceColor color, long hashMove, long[] killers,
+            long counterMove, HistoryTable history) {
+        final MovePicker picker = new MovePicker();
+        picker.reset(board, color, hashMove, killers, counterMove, history);
+
+        final long[] moves = new long[MoveGenerator.MAX_MOVES];
+        int numberOfMoves = 0;
+        long move;
+        while ((move = picker.nextMove()) != MoveEncoding.NO_MOVE) {
+            moves[numberOfMoves++] = move;
+        }
+        return Arrays.copyOf(moves, numberOfMoves);
+    }
+
+    private static long quiet(int startingPosition, int endingPosition) {
+        return MoveEncoding.encode(startingPosition, endingPosition, 0, false);
+    }
+
+    @Test
+    public void testCapturesAreForced() {
+        final Board board = new Board(Arrays.asList(9, 10), Arrays.asList(14, 30));
+        final long jump = MoveEncoding.encode(10, 17, 1 << 13, false);
+        final long otherJump = MoveEncoding.encode(9, 18, 1 << 13, false);
+
+        // a quiet hash move and quiet killers are not legal while a capture is available
+        assertArrayEquals(new long[] { otherJump, jump }, pickAll(board, PieceColor.BLACK,
+                quiet(9, 13), new long[] { quiet(10, 15), quiet(9, 13) }));
+
+        // a capture hash move comes first and is not repeated
+        assertArrayEquals(new long[] { jump, otherJump },
+                pickAll(board, PieceColor.BLACK, jump, NO_KILLERS));
+    }
+
+    @Test
+    public void testCounterMoveAndHistoryOrderQuietMoves() {
+        final Board board = new Board();
+        final HistoryTable history = new HistoryTable();
+        history.recordCutoff(PieceColor.BLACK, quiet(10, 15), 3, MoveEncoding.NO_MOVE);
+        history.recordCutoff(PieceColor.BLACK, quiet(9, 14), 2, MoveEncoding.NO_MOVE);
+        history.recordCutoff(PieceColor.BLACK, quiet(11, 16), 1, quiet(22, 18));
+        final long counterMove = history.getCounterMove(PieceColor.BLACK, quiet(22, 18));
+
+        final long[] expectedMoves = { quiet(12, 16), quiet(11, 16), quiet(10, 15), quiet(9, 14),
+                quiet(9, 13), quiet(10, 14), quiet(11, 15) };
+        assertArrayEquals(expectedMoves, pickAll(board, PieceColor.BLACK, MoveEncoding.NO_MOVE,
+                new long[] { quiet(12, 16), MoveEncoding.NO_MOVE }, counterMove, history));
+
+        // a countermove that is also a killer is only returned once
+        final long[] expectedWithKillerCounterMove = { quiet(11, 16), quiet(10, 15),
+                quiet(9, 14), quiet(9, 13), quiet(10, 14), quiet(11, 15), quiet(12, 16) };
+        assertArrayEquals(expectedWithKillerCounterMove, pickAll(board, PieceColor.BLACK,
+                MoveEncoding.NO_MOVE, new long[] { quiet(11, 16), MoveEncoding.NO_MOVE },
+                counterMove, history));
+    }
+
+    @Test
+    public void testHashMoveAndKillersComeFirst() {
+        final Board board = new Board();
+        final long[] expectedMoves = { quiet(11, 15), quiet(12, 16), quiet(9, 13), quiet(9, 14),
+                quiet(10, 14), quiet(10, 15), quiet(11, 16) };
+
+        // 22-18 is a white move and 10x19 is not a capture here; both are skipped
+        assertArrayEquals(expectedMoves, pickAll(board, PieceColor.BLACK, quiet(11, 15),
+                new long[] { quiet(22, 18), quiet(12, 16) }));
+        final long[] expectedWithoutHashMove = { quiet(12, 16), quiet(9, 13), quiet(9, 14),
+                quiet(10, 14), quiet(10, 15), quiet(11, 15), quiet(11, 16) };
+        assertArrayEquals(expectedWithoutHashMove, pickAll(board, PieceColor.BLACK,
+                MoveEncoding.encode(10, 19, 1 << 14, false),
+                new long[] { quiet(12, 16), quiet(22, 18) }));
+    }
+
+    @Test
+    public void testWithoutHints() {
+        final Board board = new Board();
+
+        assertArrayEquals(MoveGenerator.generateMoves(board, PieceColor.BLACK),
+                pickAll(board, PieceColor.BLACK, MoveEncoding.NO_MOVE, NO_KILLERS));
+        assertArrayEquals(MoveGenerator.generateMoves(board, PieceColor.WHITE),
+                pickAll(board, PieceColor.WHITE, MoveEncoding.NO_MOVE, NO_KILLERS));
+    }
+}
@@ -0,0 +1,117 @@
+package model.ai.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.MoveEncoding;
+
+public class TranspositionTableTest {
+    // keys that differ only in their high bits share a bucket
+    private static final long KEY = 0x123456789L;
+    private static final long OTHER_KEY = KEY + (1L << 40);
+    private static final long THIRD_KEY = KEY + (2L << 40);
+
+    @Test
+    public void testConcurrentStoresAndProbes() throws InterruptedException {
+        // far more keys than entries, so that the threads keep overwriting each other's entries
+        final TranspositionTable table = new TranspositionTable(1);
+        final AtomicInteger mismatches = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            final long seed = thread;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    final SplittableRandom random = new SplittableRandom(seed);
+                    final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+                    for (int i = 0; i < 200000; i++) {
+                        final long key = random.nextLong(1 << 20);
+                        table.store(key, 1, TranspositionTable.BOUND_EXACT, (int) key, ~key);
+                        if (table.probe(key ^ 1, entry)
+                                && (entry.getScore() != (int) (key ^ 1)
+                                        || entry.getMove() != ~(key ^ 1))) {
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // a probe finds either a whole entry for its key or nothing
+        assertEquals(0, mismatches.get());
+    }
+
+    @Test
+    public void testDeepestResultIsKept() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.store(KEY, 6, TranspositionTable.BOUND_EXACT, 10, MoveEncoding.NO_MOVE);
+        table.store(OTHER_KEY, 2, TranspositionTable.BOUND_EXACT, 20, MoveEncoding.NO_MOVE);
+        table.store(THIRD_KEY, 3, TranspositionTable.BOUND_EXACT, 30, MoveEncoding.NO_MOVE);
+
+        // the shallow results share the second entry, the last one wins
+        final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        assertTrue(table.probe(KEY, entry));
+        assertEquals(6, entry.getDepth());
+        assertFalse(table.probe(OTHER_KEY, entry));
+        assertTrue(table.probe(THIRD_KEY, entry));
+        assertEquals(30, entry.getScore());
+        assertEquals(1, table.getCollisions());
+
+        // after a new search, old results give way
+        table.newSearch();
+        table.store(OTHER_KEY, 1, TranspositionTable.BOUND_EXACT, 20, MoveEncoding.NO_MOVE);
+        assertFalse(table.probe(KEY, entry));
+        assertTrue(table.probe(OTHER_KEY, entry));
+        assertEquals(1, entry.getDepth());
+    }
+
+    @Test
+    public void testStoreAndProbe() {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long move = MoveEncoding.encode(10, 19, 1 << 14, false);
+        final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        assertFalse(table.probe(KEY, entry));
+
+        table.store(KEY, 5, TranspositionTable.BOUND_LOWER, -1500, move);
+        assertTrue(table.probe(KEY, entry));
+        assertEquals(5, entry.getDepth());
+        assertEquals(TranspositionTable.BOUND_LOWER, entry.getBound());
+        assertEquals(-1500, entry.getScore());
+        assertEquals(move, entry.getMove());
+
+        // a result without a best move keeps the one already known
+        table.store(KEY, 6, TranspositionTable.BOUND_UPPER, 250, MoveEncoding.NO_MOVE);
+        assertTrue(table.probe(KEY, entry));
+        assertEquals(move, entry.getMove());
+        assertTrue(table.probe(KEY, entry));
+        assertEquals(250, entry.getScore());
+
+        assertEquals(4, table.getProbes());
+        assertEquals(3, table.getHits());
+        assertEquals(2, table.getStores());
+        assertEquals(0, table.getCollisions());
+
+        table.clear();
+        assertFalse(table.probe(KEY, entry));
+    }
+
+    @Test
+    public void testSize() {
+        assertEquals(1 << 15, new TranspositionTable(1).getNumberOfEntries());
+        assertEquals(1 << 19, new TranspositionTable(16).getNumberOfEntries());
+    }
+}
@@ -0,0 +1,65 @@
+package model.fuzz;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import model.Board;
+import model.BoardNotation;
+import model.PieceColor;
+import model.ReferenceMoveGenerator;
+import model.ReferenceMoveGenerator.ReferenceMove;
+
+public class GeneratorFuzzerTest {
+
+    @Test
+    public void testFindMismatch() {
+        assertNull(GeneratorFuzzer.findMismatch(new Board()));
+        // a king capturing in a loop back to its own square, and a capture that crowns
+        assertNull(GeneratorFuzzer.findMismatch(BoardNotation.parse("B:W17,18,25,26:BK14")));
+        assertNull(GeneratorFuzzer.findMismatch(BoardNotation.parse("B:W27,K31:B23,K19")));
+    }
+
+    @Test
+    public void testReferenceKeepsEveryJumpPath() {
+        // the king on 23 can take the four men clockwise or anticlockwise
+        final Board board = BoardNotation.parse("B:W1,10,11,18,19:BK23");
+        final List<ReferenceMove> moves = ReferenceMoveGenerator.getAllPossibleMoves(
+                ReferenceMoveGenerator.toSquares(board), PieceColor.BLACK);
+
+        assertEquals("[23x(18)(10)(11)(19)23, 23x(19)(11)(10)(18)23]", moves.toString());
+        assertEquals(moves.get(0).encode(), moves.get(1).encode());
+        assertNull(GeneratorFuzzer.findMismatch(board));
+    }
+
+    @Test
+    public void testRun() {
+        final GeneratorFuzzer fuzzer = new GeneratorFuzzer(1, 2, GeneratorFuzzer.GENERATOR_CHECK);
+        final List<String> mismatches = fuzzer.run(20);
+
+        assertTrue(mismatches.toString(), mismatches.isEmpty());
+        assertTrue(fuzzer.getPositionsChecked() > 20);
+    }
+
+    @Test
+    public void testShrink() {
+        // fails whenever white has a king on 14 and black has a piece left
+        final GeneratorFuzzer.PositionCheck check = new GeneratorFuzzer.PositionCheck() {
+            @Override
+            public String check(Board board) {
+                final boolean failed = board.getPiece(14).isKing() && board.getPiece(14).isWhite()
+                        && board.getNumberOfBlackPieces() > 0;
+                return failed ? "failed" : null;
+            }
+        };
+
+        final Board smallest = GeneratorFuzzer.shrink(
+                BoardNotation.parse("B:WK14,K20,21,22:BK3,5,6"), check);
+
+        assertEquals("B:WK14:B6", BoardNotation.format(smallest));
+    }
+}
@@ -0,0 +1,48 @@
+package model.perft;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import model.Board;
+import model.BoardNotation;
+import model.MoveEncoding;
+
+public class PerftTest {
+    // Published perft counts for the starting position of English checkers
+    private static final long[] STARTING_POSITION_COUNTS = { 1, 7, 49, 302, 1469, 7361, 36768,
+            179740 };
+
+    @Test
+    public void testCount_startingPosition() {
+        final Perft perft = new Perft();
+        for (int depth = 0; depth < STARTING_POSITION_COUNTS.length; depth++) {
+            assertEquals(STARTING_POSITION_COUNTS[depth], perft.count(new Board(), depth));
+        }
+    }
+
+    @Test
+    public void testCount_withHashTableAndInParallel() {
+        final Board board = new Board();
+        final int depth = STARTING_POSITION_COUNTS.length - 1;
+        final long expectedCount = STARTING_POSITION_COUNTS[depth];
+
+        assertEquals(expectedCount, new Perft(new PerftHashTable(1), false).count(board, depth));
+        assertEquals(expectedCount, new Perft(null, true).count(board, depth));
+        assertEquals(expectedCount, new Perft(new PerftHashTable(1), true).count(board, depth));
+        assertEquals(new Board(), board);
+    }
+
+    @Test
+    public void testDivide() {
+        final Board board = BoardNotation.parse("W:WK14:B10,17");
+        final Map<Long, Long> counts = new Perft().divide(board, 2);
+
+        // the white king must take either black man, and the other one then has two moves
+        assertEquals(2, counts.size());
+        assertEquals(Long.valueOf(2), counts.get(MoveEncoding.encode(14, 7, 1 << 9, false)));
+        assertEquals(Long.valueOf(2), counts.get(MoveEncoding.encode(14, 21, 1 << 16, false)));
+    }
+}
@@ -0,0 +1,35 @@
+package model.positions;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import model.PieceColor;
+
+public class PositionFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndOpen() throws IOException {
+        final Path path = this.folder.newFile("positions.bin").toPath();
+        PositionFile.write(path, 101, 3, 42, 4, 30, PieceColor.BLACK, null);
+
+        assertEquals(101 * PositionFile.BYTES_PER_POSITION, Files.size(path));
+        final PositionFile file = PositionFile.open(path);
+        assertEquals(101, file.size());
+
+        // the second worker writes positions 33-66 from seed 43
+        final RandomPositionGenerator generator = new RandomPositionGenerator(43, 4, 30,
+                PieceColor.BLACK, null);
+        for (int index = 33; index < 67; index++) {
+            assertEquals(generator.next(), file.get(index));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package model.positions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import model.Board;
+import model.BoardTopology;
+import model.PieceColor;
+
+public class RandomPositionGeneratorTest {
+
+    @Test
+    public void testMaterialAndSideToMove() {
+        final MaterialSignature material = new MaterialSignature(MaterialSignature.ANY, 1,
+                MaterialSignature.ANY, MaterialSignature.ANY);
+        final RandomPositionGenerator generator = new RandomPositionGenerator(3, 10, 60,
+                PieceColor.WHITE, material);
+        for (int i = 0; i < 20; i++) {
+            final Board board = generator.next();
+            assertEquals(PieceColor.WHITE, board.getSideToMove());
+            assertEquals(1, board.getNumberOfKings(PieceColor.BLACK));
+            assertTrue(material.matches(board));
+        }
+    }
+
+    @Test
+    public void testPositionsAreLegal() {
+        final RandomPositionGenerator generator = new RandomPositionGenerator(11);
+        for (int i = 0; i < 200; i++) {
+            final Board board = generator.next();
+            final int men = ~board.getKingMask();
+            assertTrue(board.getNumberOfBlackPieces() <= 12);
+            assertTrue(board.getNumberOfWhitePieces() <= 12);
+            // men on their promotion row would have been crowned
+            assertEquals(0, board.getPieceMask(PieceColor.BLACK) & men
+                    & BoardTopology.getPromotionRow(PieceColor.BLACK));
+            assertEquals(0, board.getPieceMask(PieceColor.WHITE) & men
+                    & BoardTopology.getPromotionRow(PieceColor.WHITE));
+        }
+    }
+
+    @Test
+    public void testSameSeedGivesSamePositions() {
+        final RandomPositionGenerator first = new RandomPositionGenerator(7, 0, 40, null, null);
+        final RandomPositionGenerator second = new RandomPositionGenerator(7, 0, 40, null, null);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(first.next(), second.next());
+        }
+    }
+}